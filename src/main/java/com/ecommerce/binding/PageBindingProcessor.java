@@ -0,0 +1,269 @@
+package com.ecommerce.binding;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Page Binding Processor - Generates element bindings for page objects at build time
+ *
+ * For every class with Selenium @FindBy fields, generates a
+ * &lt;Page&gt;_Bindings class in the same package whose bind(cache)
+ * returns a lazily located element (or element list) for each field,
+ * built with plain code instead of PageFactory reflecting over the
+ * fields and building dynamic proxies for every page instance. The page
+ * constructor copies them into its fields, which stay private (and can
+ * be final, so a field the constructor misses is a compile error).
+ *
+ * Bound fields must not be static and must be of type WebElement or
+ * List&lt;WebElement&gt;. Supports the single-strategy forms of @FindBy
+ * (id, css, xpath, ...; or how/using).
+ *
+ * Registered through META-INF/services and run during test-compile,
+ * where the page objects live.
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+@SupportedAnnotationTypes(PageBindingProcessor.FIND_BY)
+public class PageBindingProcessor extends AbstractProcessor {
+
+    static final String FIND_BY = "org.openqa.selenium.support.FindBy";
+
+    private static final String WEB_ELEMENT = "org.openqa.selenium.WebElement";
+    private static final String WEB_ELEMENT_LIST = "java.util.List<org.openqa.selenium.WebElement>";
+    private static final String RUNTIME_PACKAGE = "com.ecommerce.pages.base";
+    private static final String RUNTIME = "ElementBindings";
+
+    // @FindBy attribute -> By factory method
+    private static final Map<String, String> STRATEGIES = new LinkedHashMap<>();
+
+    // How enum constant -> By factory method
+    private static final Map<String, String> HOW = new LinkedHashMap<>();
+
+    static {
+        STRATEGIES.put("id", "id");
+        STRATEGIES.put("name", "name");
+        STRATEGIES.put("className", "className");
+        STRATEGIES.put("css", "cssSelector");
+        STRATEGIES.put("tagName", "tagName");
+        STRATEGIES.put("linkText", "linkText");
+        STRATEGIES.put("partialLinkText", "partialLinkText");
+        STRATEGIES.put("xpath", "xpath");
+
+        HOW.put("ID", "id");
+        HOW.put("NAME", "name");
+        HOW.put("CLASS_NAME", "className");
+        HOW.put("CSS", "cssSelector");
+        HOW.put("TAG_NAME", "tagName");
+        HOW.put("LINK_TEXT", "linkText");
+        HOW.put("PARTIAL_LINK_TEXT", "partialLinkText");
+        HOW.put("XPATH", "xpath");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Map<TypeElement, List<VariableElement>> pages = new LinkedHashMap<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.FIELD) {
+                    pages.computeIfAbsent((TypeElement) element.getEnclosingElement(), page -> new ArrayList<>())
+                        .add((VariableElement) element);
+                }
+            }
+        }
+        pages.forEach(this::generate);
+        return false;
+    }
+
+    private void generate(TypeElement page, List<VariableElement> fields) {
+        List<String> declarations = new ArrayList<>();
+        List<String> statements = new ArrayList<>();
+        for (VariableElement field : fields) {
+            Binding binding = bindingFor(field);
+            if (binding == null) {
+                return;
+            }
+            declarations.add(binding.declaration);
+            statements.add(binding.statement);
+        }
+
+        String packageName = packageOf(page);
+        String pageName = page.getSimpleName().toString();
+        String bindingsName = pageName + "_Bindings";
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("import ").append(RUNTIME_PACKAGE).append('.').append(RUNTIME).append(";\n")
+            .append("import ").append(RUNTIME_PACKAGE).append(".ElementCache;\n")
+            .append("import org.openqa.selenium.By;\n")
+            .append("import org.openqa.selenium.WebElement;\n\n")
+            .append("import java.util.List;\n\n")
+            .append("/**\n")
+            .append(" * Element bindings for ").append(pageName).append(", generated from its @FindBy fields\n")
+            .append(" */\n")
+            .append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n")
+            .append("final class ").append(bindingsName).append(" {\n\n");
+        declarations.forEach(declaration -> source.append("    ").append(declaration).append('\n'));
+        source.append('\n')
+            .append("    private ").append(bindingsName).append("(ElementCache cache) {\n");
+        statements.forEach(statement -> source.append("        ").append(statement).append('\n'));
+        source.append("    }\n\n")
+            .append("    static ").append(bindingsName).append(" bind(ElementCache cache) {\n")
+            .append("        return new ").append(bindingsName).append("(cache);\n")
+            .append("    }\n")
+            .append("}\n");
+
+        String qualifiedName = packageName.isEmpty() ? bindingsName : packageName + "." + bindingsName;
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, page);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source.toString());
+            }
+        } catch (IOException e) {
+            error(page, "Could not write " + qualifiedName + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Declaration and assignment of one binding, or null (after reporting an error)
+     * if the field cannot be bound
+     */
+    private Binding bindingFor(VariableElement field) {
+        String name = field.getSimpleName().toString();
+        if (field.getModifiers().contains(Modifier.STATIC)) {
+            error(field, "@FindBy field '" + name + "' must not be static to be bound");
+            return null;
+        }
+
+        String type = field.asType().toString();
+        String factory;
+        String declaredType;
+        if (WEB_ELEMENT.equals(type)) {
+            factory = "element";
+            declaredType = "WebElement";
+        } else if (WEB_ELEMENT_LIST.equals(type)) {
+            factory = "list";
+            declaredType = "List<WebElement>";
+        } else {
+            error(field, "@FindBy field '" + name + "' must be a WebElement or List<WebElement>");
+            return null;
+        }
+
+        String locator = locatorFor(field);
+        if (locator == null) {
+            return null;
+        }
+        return new Binding(String.format("final %s %s;", declaredType, name),
+            String.format("%s = %s.%s(cache, %s, \"%s\");", name, RUNTIME, factory, locator, name));
+    }
+
+    private String locatorFor(VariableElement field) {
+        AnnotationMirror findBy = field.getAnnotationMirrors().stream()
+            .filter(mirror -> mirror.getAnnotationType().toString().equals(FIND_BY))
+            .findFirst()
+            .orElseThrow();
+
+        String method = null;
+        String value = null;
+        String how = null;
+        String using = null;
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : findBy.getElementValues().entrySet()) {
+            String attribute = entry.getKey().getSimpleName().toString();
+            String attributeValue = String.valueOf(entry.getValue().getValue());
+            if (STRATEGIES.containsKey(attribute)) {
+                if (method != null) {
+                    error(field, "@FindBy on '" + field.getSimpleName() + "' sets more than one strategy");
+                    return null;
+                }
+                method = STRATEGIES.get(attribute);
+                value = attributeValue;
+            } else if ("how".equals(attribute)) {
+                how = attributeValue;
+            } else if ("using".equals(attribute)) {
+                using = attributeValue;
+            }
+        }
+        if (method == null && how != null && HOW.containsKey(how) && using != null) {
+            method = HOW.get(how);
+            value = using;
+        }
+        if (method == null) {
+            error(field, "@FindBy on '" + field.getSimpleName() + "' has no supported locator strategy");
+            return null;
+        }
+        return "By." + method + "(\"" + escape(value) + "\")";
+    }
+
+    private static String packageOf(TypeElement type) {
+        Element enclosing = type.getEnclosingElement();
+        while (!(enclosing instanceof PackageElement)) {
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return ((PackageElement) enclosing).getQualifiedName().toString();
+    }
+
+    static String escape(String value) {
+        StringBuilder escaped = new StringBuilder();
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    escaped.append("\\\"");
+                    break;
+                case '\\':
+                    escaped.append("\\\\");
+                    break;
+                case '\n':
+                    escaped.append("\\n");
+                    break;
+                default:
+                    escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    /**
+     * Generated field of the bindings class and the constructor statement that assigns it
+     */
+    private static final class Binding {
+        final String declaration;
+        final String statement;
+
+        Binding(String declaration, String statement) {
+            this.declaration = declaration;
+            this.statement = statement;
+        }
+    }
+}
@@ -64,7 +64,7 @@ public class ConfigManager {
         properties.setProperty("base.url", "https://www.saucedemo.com");
         properties.setProperty("browser", "chrome");
         properties.setProperty("headless", "false");
-        properties.setProperty("implicit.wait", "10");
+        properties.setProperty("implicit.wait", "0");
         properties.setProperty("explicit.wait", "20");
         properties.setProperty("page.load.timeout", "30");
         // Credentials removed - now loaded from SecretsManager
@@ -0,0 +1,40 @@
+package com.ecommerce.exceptions;
+
+/**
+ * Exception thrown when a browser driver binary cannot be resolved
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class DriverResolutionException extends RuntimeException {
+
+    public DriverResolutionException(String message) {
+        super(message);
+    }
+
+    public DriverResolutionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * Create an exception for a driver that is missing while running offline
+     *
+     * @param browser the browser whose driver could not be found
+     * @param manifestPath the manifest that was searched
+     * @return a new DriverResolutionException with helpful error message
+     */
+    public static DriverResolutionException offlineMiss(String browser, String manifestPath) {
+        String message = String.format(
+            "No driver binary for '%s' and offline mode is enabled!%n%n" +
+            "The resolver will not access the network when driver.offline=true.%n" +
+            "Provide the driver in one of these ways:%n" +
+            "  1. Run once with network access to populate %s%n" +
+            "     and copy that file with the driver binaries to this runner%n" +
+            "  OR%n" +
+            "  2. Set the system property for the driver binary%n" +
+            "     (webdriver.chrome.driver, webdriver.gecko.driver, webdriver.edge.driver)",
+            browser, manifestPath
+        );
+        return new DriverResolutionException(message);
+    }
+}
@@ -0,0 +1,46 @@
+package com.ecommerce.exceptions;
+
+/**
+ * Exception thrown when a test never gets a grid slot to run in
+ * It fails the test, so a starved grid cannot turn the suite green
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class GridCapacityException extends RuntimeException {
+
+    public GridCapacityException(String message) {
+        super(message);
+    }
+
+    /**
+     * Create an exception for a test that queued longer than allowed
+     *
+     * @param limit the concurrency limit at the time of the timeout
+     * @param waitedMillis how long the test queued
+     * @return a new GridCapacityException with helpful error message
+     */
+    public static GridCapacityException queueTimeout(int limit, long waitedMillis) {
+        String message = String.format(
+            "No free grid slot within %d ms (concurrency limit: %d)!%n%n" +
+            "The grid did not have capacity for this test.%n" +
+            "Either:%n" +
+            "  1. Free or add grid capacity%n" +
+            "  OR%n" +
+            "  2. Raise concurrency.queue.timeout.ms for long-running suites",
+            waitedMillis, limit
+        );
+        return new GridCapacityException(message);
+    }
+
+    /**
+     * Create an exception for a test interrupted while it queued for a slot
+     *
+     * @param waitedMillis how long the test queued
+     * @return a new GridCapacityException
+     */
+    public static GridCapacityException interrupted(long waitedMillis) {
+        return new GridCapacityException(String.format(
+            "Interrupted after waiting %d ms for a free grid slot", waitedMillis));
+    }
+}
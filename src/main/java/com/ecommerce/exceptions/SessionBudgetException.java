@@ -0,0 +1,34 @@
+package com.ecommerce.exceptions;
+
+/**
+ * Exception thrown when no browser session fits in the suite-wide session budget
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class SessionBudgetException extends RuntimeException {
+
+    public SessionBudgetException(String message) {
+        super(message);
+    }
+
+    /**
+     * Create an exception for a lease that waited too long for the budget
+     *
+     * @param budget the configured driver.session.budget
+     * @param waitedMillis how long the lease waited
+     * @return a new SessionBudgetException with helpful error message
+     */
+    public static SessionBudgetException exhausted(int budget, long waitedMillis) {
+        String message = String.format(
+            "No browser session became available within %d ms (budget: %d live sessions)!%n%n" +
+            "All sessions in the budget are in use by other tests.%n" +
+            "Either:%n" +
+            "  1. Raise driver.session.budget if the grid has more slots%n" +
+            "  OR%n" +
+            "  2. Raise driver.session.budget.wait.ms for long-running suites",
+            waitedMillis, budget
+        );
+        return new SessionBudgetException(message);
+    }
+}
@@ -0,0 +1,132 @@
+package com.ecommerce.binding;
+
+import org.testng.annotations.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for PageBindingProcessor
+ * Compiles small page classes with the processor and inspects the output
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class PageBindingProcessorTest {
+
+    @Test(description = "Test bindings are generated for each @FindBy field")
+    public void testBindingsGenerated() throws IOException {
+        Compilation compilation = compile("SamplePage",
+            "package sample;\n"
+                + "import java.util.List;\n"
+                + "import org.openqa.selenium.WebElement;\n"
+                + "import org.openqa.selenium.support.FindBy;\n"
+                + "import org.openqa.selenium.support.How;\n"
+                + "public class SamplePage {\n"
+                + "    @FindBy(id = \"login-button\") WebElement loginButton;\n"
+                + "    @FindBy(css = \"[data-test='error']\") WebElement error;\n"
+                + "    @FindBy(how = How.XPATH, using = \"//div\") List<WebElement> rows;\n"
+                + "}\n");
+
+        assertTrue(compilation.success, compilation.errors);
+        String generated = compilation.read("sample/SamplePage_Bindings.java");
+        assertTrue(generated.contains("final WebElement loginButton;"));
+        assertTrue(generated.contains("final List<WebElement> rows;"));
+        assertTrue(generated.contains(
+            "loginButton = ElementBindings.element(cache, By.id(\"login-button\"), \"loginButton\");"));
+        assertTrue(generated.contains(
+            "error = ElementBindings.element(cache, By.cssSelector(\"[data-test='error']\"), \"error\");"));
+        assertTrue(generated.contains(
+            "rows = ElementBindings.list(cache, By.xpath(\"//div\"), \"rows\");"));
+        assertTrue(generated.contains("static SamplePage_Bindings bind(ElementCache cache) {"));
+        assertFalse(generated.contains("page."), "Bindings must not reach into the page");
+    }
+
+    @Test(description = "Test private final @FindBy fields can be bound")
+    public void testPrivateFieldsAccepted() throws IOException {
+        Compilation compilation = compile("PrivatePage",
+            "package sample;\n"
+                + "import org.openqa.selenium.WebElement;\n"
+                + "import org.openqa.selenium.support.FindBy;\n"
+                + "public class PrivatePage {\n"
+                + "    @FindBy(id = \"user-name\") private final WebElement username = null;\n"
+                + "}\n");
+
+        assertTrue(compilation.success, compilation.errors);
+        assertTrue(compilation.read("sample/PrivatePage_Bindings.java").contains("final WebElement username;"));
+    }
+
+    @Test(description = "Test a static @FindBy field is a compile error")
+    public void testStaticFieldRejected() throws IOException {
+        Compilation compilation = compile("StaticPage",
+            "package sample;\n"
+                + "import org.openqa.selenium.WebElement;\n"
+                + "import org.openqa.selenium.support.FindBy;\n"
+                + "public class StaticPage {\n"
+                + "    @FindBy(id = \"user-name\") static WebElement username;\n"
+                + "}\n");
+
+        assertFalse(compilation.success);
+        assertTrue(compilation.errors.contains("must not be static"), compilation.errors);
+    }
+
+    @Test(description = "Test locator values are escaped into Java string literals")
+    public void testEscape() {
+        assertEquals(PageBindingProcessor.escape("a[title=\"x\\y\"]"), "a[title=\\\"x\\\\y\\\"]");
+    }
+
+    /**
+     * Run javac with only this processor; ElementBindings is not needed
+     * since -proc:only stops before the generated code is compiled
+     */
+    private static Compilation compile(String className, String source) throws IOException {
+        Path dir = Files.createTempDirectory("page-bindings");
+        Path sourceFile = dir.resolve(className + ".java");
+        Files.writeString(sourceFile, source);
+        Path generated = Files.createDirectories(dir.resolve("generated"));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, files, diagnostics,
+                List.of("-proc:only", "-classpath", System.getProperty("java.class.path"),
+                    "-s", generated.toString()),
+                null, files.getJavaFileObjects(sourceFile));
+            task.setProcessors(List.of(new PageBindingProcessor()));
+            boolean success = task.call();
+            String errors = diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .map(diagnostic -> diagnostic.getMessage(null))
+                .collect(Collectors.joining("; "));
+            return new Compilation(success, errors, generated);
+        }
+    }
+
+    private static final class Compilation {
+        final boolean success;
+        final String errors;
+        final Path generated;
+
+        Compilation(boolean success, String errors, Path generated) {
+            this.success = success;
+            this.errors = errors;
+            this.generated = generated;
+        }
+
+        String read(String path) throws IOException {
+            return Files.readString(generated.resolve(path));
+        }
+    }
+}
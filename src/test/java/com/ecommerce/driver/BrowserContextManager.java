@@ -0,0 +1,259 @@
+package com.ecommerce.driver;
+
+import com.ecommerce.config.ConfigManager;
+import com.ecommerce.wait.NetworkIdleMonitor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Browser Context Manager - Shared worker browsers, one context per test
+ *
+ * A test gets a fresh incognito-style browser context (CDP
+ * Target.createBrowserContext) inside a worker browser, so cookies and
+ * storage are fully isolated. Up to driver.context.per.worker contexts
+ * are open in one worker at the same time, so concurrent tests share a
+ * browser process instead of starting one each (see SharedWorker for how
+ * their commands take turns).
+ *
+ * Workers are opened from the DriverPool's session budget but stay out
+ * of its lease/reset cycle: closing a context only disposes the context,
+ * also when the test failed. A worker is quit once it has hosted
+ * driver.context.worker.max.uses contexts, or when disposing a context
+ * fails, after its remaining contexts are closed.
+ *
+ * Only Chromium browsers (chrome, edge) support this; other browsers
+ * fall back to a regular pooled session.
+ *
+ * Thread-safe singleton pattern.
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class BrowserContextManager {
+
+    private static final Logger log = LogManager.getLogger(BrowserContextManager.class);
+
+    private static volatile BrowserContextManager instance;
+
+    // Augmenting a RemoteWebDriver is expensive, so keep one CDP view per browser
+    private final Map<WebDriver, HasCdp> cdpViews = new ConcurrentHashMap<>();
+
+    // Open workers per key; each list is the lock for its workers' context counts
+    private final Map<SessionKey, List<SharedWorker>> workers = new ConcurrentHashMap<>();
+    private final Map<DriverLease, SharedWorker> workersBySession = new ConcurrentHashMap<>();
+
+    private final String baseUrl;
+    private final int contextsPerWorker;
+    private final int maxUsesPerWorker;
+
+    private BrowserContextManager() {
+        ConfigManager config = ConfigManager.getInstance();
+        this.baseUrl = config.getProperty("base.url");
+        this.contextsPerWorker = Math.max(1, config.getInt("driver.context.per.worker", 4));
+        this.maxUsesPerWorker = Math.max(1, config.getInt("driver.context.worker.max.uses", 50));
+    }
+
+    /**
+     * Get the singleton instance of BrowserContextManager
+     *
+     * @return the BrowserContextManager instance
+     */
+    public static BrowserContextManager getInstance() {
+        if (instance == null) {
+            synchronized (BrowserContextManager.class) {
+                if (instance == null) {
+                    instance = new BrowserContextManager();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Open an isolated browser context in a worker browser with a free slot
+     * Falls back to a pooled session for non-Chromium browsers or on CDP errors
+     *
+     * @param key browser and options of the worker browser
+     * @return a lease whose driver always works in the new context's window
+     */
+    public DriverLease openContext(SessionKey key) {
+        if (!supportsContexts(key)) {
+            return DriverPool.getInstance().lease(key);
+        }
+
+        SharedWorker worker = reserveWorker(key);
+        try {
+            return createContext(worker);
+        } catch (Exception e) {
+            log.warn("Could not open browser context, falling back to a pooled session: {}", e.getMessage());
+            releaseWorker(worker, true);
+            return DriverPool.getInstance().lease(key);
+        }
+    }
+
+    /**
+     * Dispose the test's browser context; the worker keeps serving other tests
+     * A failed test only loses its context, its state goes with it
+     *
+     * @param lease the lease obtained from openContext()
+     * @param failed true if the test using the context failed
+     */
+    public void closeContext(DriverLease lease, boolean failed) {
+        SharedWorker worker = workersBySession.get(lease.getWorker());
+        if (worker == null) {
+            log.warn("Worker of browser context {} is already gone", lease.getBrowserContextId());
+            return;
+        }
+        boolean broken = false;
+        worker.lock();
+        try {
+            // Disposing the context closes its windows, including any the test opened
+            cdp(worker.getSession().getDriver()).executeCdpCommand("Target.disposeBrowserContext",
+                Map.of("browserContextId", lease.getBrowserContextId()));
+            log.info("Browser context closed: {}{}", lease.getBrowserContextId(), failed ? " (test failed)" : "");
+        } catch (Exception e) {
+            // A worker that cannot dispose contexts cleanly takes no new ones
+            log.warn("Could not close browser context {}: {}", lease.getBrowserContextId(), e.getMessage());
+            broken = true;
+        } finally {
+            worker.windowSwitched(null);
+            worker.unlock();
+        }
+        releaseWorker(worker, broken);
+    }
+
+    /**
+     * Take a context slot in an open worker, or open a new worker
+     */
+    private SharedWorker reserveWorker(SessionKey key) {
+        List<SharedWorker> keyWorkers = workers.computeIfAbsent(key, k -> new ArrayList<>());
+        synchronized (keyWorkers) {
+            for (SharedWorker worker : keyWorkers) {
+                if (!worker.retired && worker.openContexts < contextsPerWorker) {
+                    reserve(worker);
+                    return worker;
+                }
+            }
+        }
+
+        // Start the browser outside the lock, so other tests keep using open workers meanwhile
+        SharedWorker worker = new SharedWorker(DriverPool.getInstance().openDedicated(key));
+        // One DevTools connection cannot follow the tabs of several contexts
+        NetworkIdleMonitor.getInstance().exclude(worker.getSession().getDriver());
+        workersBySession.put(worker.getSession(), worker);
+        synchronized (keyWorkers) {
+            reserve(worker);
+            keyWorkers.add(worker);
+        }
+        log.info("Worker browser opened: {}", worker.getSession());
+        return worker;
+    }
+
+    private void reserve(SharedWorker worker) {
+        worker.openContexts++;
+        worker.servedContexts++;
+        if (worker.servedContexts >= maxUsesPerWorker) {
+            worker.retired = true;
+        }
+    }
+
+    /**
+     * Give back a context slot and quit the worker once it is retired and empty
+     */
+    private void releaseWorker(SharedWorker worker, boolean broken) {
+        List<SharedWorker> keyWorkers = workers.get(worker.getSession().getKey());
+        boolean quit;
+        synchronized (keyWorkers) {
+            worker.openContexts--;
+            worker.retired |= broken;
+            quit = worker.retired && worker.openContexts == 0;
+            if (quit) {
+                keyWorkers.remove(worker);
+            }
+        }
+        if (quit) {
+            workersBySession.remove(worker.getSession());
+            DriverPool.getInstance().closeDedicated(worker.getSession(),
+                broken ? "browser context failure" : "worker retired");
+        }
+    }
+
+    private DriverLease createContext(SharedWorker worker) {
+        WebDriver driver = worker.getSession().getDriver();
+        String contextId;
+        String windowHandle;
+        worker.lock();
+        try {
+            HasCdp cdp = cdp(driver);
+            Map<String, Object> context = cdp.executeCdpCommand("Target.createBrowserContext",
+                Map.of("disposeOnDetach", true));
+            contextId = String.valueOf(context.get("browserContextId"));
+
+            Set<String> handlesBefore = new HashSet<>(driver.getWindowHandles());
+            cdp.executeCdpCommand("Target.createTarget", Map.of(
+                "url", baseUrl,
+                "browserContextId", contextId,
+                "newWindow", true));
+
+            // Window handles are not guaranteed to equal target ids, so find the new one
+            Set<String> handlesAfter = new HashSet<>(driver.getWindowHandles());
+            handlesAfter.removeAll(handlesBefore);
+            if (handlesAfter.isEmpty()) {
+                throw new IllegalStateException("New browser context window not found");
+            }
+            windowHandle = handlesAfter.iterator().next();
+            driver.switchTo().window(windowHandle);
+            worker.windowSwitched(windowHandle);
+            try {
+                driver.manage().window().maximize();
+            } catch (Exception e) {
+                log.debug("Could not maximize context window: {}", e.getMessage());
+            }
+        } finally {
+            worker.unlock();
+        }
+
+        DriverLease lease = new DriverLease(worker.pin(windowHandle), worker.getSession().getKey());
+        lease.bindBrowserContext(contextId, windowHandle, worker.getSession());
+        lease.incrementUseCount();
+        log.info("Browser context opened: {} in {}", lease, worker);
+        return lease;
+    }
+
+    /**
+     * Drop the cached CDP view of a session the pool has quit
+     */
+    static void sessionClosed(WebDriver driver) {
+        if (instance != null) {
+            instance.cdpViews.remove(driver);
+        }
+    }
+
+    private static boolean supportsContexts(SessionKey key) {
+        return "chrome".equals(key.getBrowser()) || "edge".equals(key.getBrowser());
+    }
+
+    private HasCdp cdp(WebDriver driver) {
+        if (driver instanceof HasCdp) {
+            return (HasCdp) driver;
+        }
+        return cdpViews.computeIfAbsent(driver, d -> {
+            WebDriver augmented = d instanceof RemoteWebDriver ? new Augmenter().augment(d) : d;
+            if (augmented instanceof HasCdp) {
+                return (HasCdp) augmented;
+            }
+            throw new UnsupportedOperationException("Driver does not support CDP: " + d.getClass().getSimpleName());
+        });
+    }
+}
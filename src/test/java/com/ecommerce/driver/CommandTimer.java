@@ -0,0 +1,311 @@
+package com.ecommerce.driver;
+
+import com.ecommerce.config.ConfigManager;
+import com.ecommerce.grid.GridStatus;
+import com.ecommerce.grid.GridStatusClient;
+import com.ecommerce.metrics.LatencyHistogram;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Command Timer - Latency of every WebDriver command, by where it came from
+ *
+ * instrument() wraps a session in an EventFiringDecorator that times each
+ * command (findElement, click, getText, executeScript, navigation, ...)
+ * and records it in three sets of histograms:
+ * - per command type, e.g. element.click
+ * - per calling page-object method, e.g. CartPage.getCartTotal
+ *   (commands issued from tests directly are attributed to the test method)
+ * - per grid node (or "local")
+ *
+ * It also knows which sessions have a command in flight right now, so
+ * the SessionWatchdog does not mistake a long page load for a hung session.
+ *
+ * Thread-safe singleton pattern.
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class CommandTimer {
+
+    private static final Logger log = LogManager.getLogger(CommandTimer.class);
+
+    private static volatile CommandTimer instance;
+
+    private static final String PAGES_PACKAGE = "com.ecommerce.pages.";
+    private static final String PAGES_BASE_PACKAGE = "com.ecommerce.pages.base.";
+    private static final String TESTS_PACKAGE = "com.ecommerce.tests.";
+
+    // Accessors that hand out another decorated object without a remote command
+    private static final Set<String> NON_COMMANDS = Set.of("manage", "navigate", "switchTo", "timeouts",
+        "window", "logs", "getWrappedDriver", "getWrappedElement", "toString", "hashCode", "equals");
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final boolean enabled;
+    private final Supplier<Map<String, String>> sessionNodeLookup;
+    private final Map<String, String> sessionNodes = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> byCommand = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> byPageMethod = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> byNode = new ConcurrentHashMap<>();
+
+    // Keyed weakly by the undecorated session, so sessions that were quit are dropped
+    private final Map<WebDriver, TimingListener> sessions = Collections.synchronizedMap(new WeakHashMap<>());
+
+    CommandTimer(boolean enabled, Supplier<Map<String, String>> sessionNodeLookup) {
+        this.enabled = enabled;
+        this.sessionNodeLookup = sessionNodeLookup;
+    }
+
+    /**
+     * Get the singleton instance of CommandTimer
+     *
+     * @return the CommandTimer instance
+     */
+    public static CommandTimer getInstance() {
+        if (instance == null) {
+            synchronized (CommandTimer.class) {
+                if (instance == null) {
+                    instance = fromConfig(ConfigManager.getInstance());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private static CommandTimer fromConfig(ConfigManager config) {
+        SessionKey key = SessionKey.forBrowser(config.getProperty("browser", "chrome"), config);
+        Supplier<Map<String, String>> lookup = Collections::emptyMap;
+        if (key.isRemote()) {
+            GridStatusClient statusClient = new GridStatusClient(key.getGridUrl());
+            lookup = () -> {
+                GridStatus status = statusClient.fetch();
+                return status != null ? status.getSessionNodes() : Collections.emptyMap();
+            };
+        }
+        return new CommandTimer(config.getBoolean("metrics.commands.enabled", true), lookup);
+    }
+
+    /**
+     * Wrap a session so its commands are timed
+     *
+     * @param driver the leased session
+     * @param listeners further listeners to attach in the same decorator
+     * @return the instrumented driver, or the driver itself when there is nothing to attach
+     */
+    public WebDriver instrument(WebDriver driver, WebDriverListener... listeners) {
+        List<WebDriverListener> attached = new ArrayList<>(Arrays.asList(listeners));
+        if (enabled) {
+            TimingListener timing = new TimingListener(nodeOf(driver));
+            sessions.put(driver, timing);
+            attached.add(0, timing);
+        }
+        if (attached.isEmpty()) {
+            return driver;
+        }
+        return new EventFiringDecorator<>(attached.toArray(new WebDriverListener[0])).decorate(driver);
+    }
+
+    /**
+     * When the oldest command still running on a session started
+     *
+     * @param driver the undecorated session, as held by the DriverLease
+     * @return start in epoch millis, or 0 if no command is in flight
+     *         (or the session is not instrumented)
+     */
+    public long commandInFlightSince(WebDriver driver) {
+        TimingListener timing = sessions.get(driver);
+        return timing != null ? timing.inFlightSince : 0;
+    }
+
+    /**
+     * Grid node of a session, looked up once per session
+     */
+    private String nodeOf(WebDriver driver) {
+        if (!(driver instanceof RemoteWebDriver) || ((RemoteWebDriver) driver).getSessionId() == null) {
+            return "local";
+        }
+        String sessionId = ((RemoteWebDriver) driver).getSessionId().toString();
+        return sessionNodes.computeIfAbsent(sessionId, id -> {
+            try {
+                return sessionNodeLookup.get().getOrDefault(id, "local");
+            } catch (Exception e) {
+                log.debug("Could not resolve grid node of session {}: {}", id, e.getMessage());
+                return "unknown node";
+            }
+        });
+    }
+
+    /**
+     * Histograms per command, page method and node, for the suite report
+     */
+    public String getMetricsSummary() {
+        StringBuilder summary = new StringBuilder("WebDriver command latency (ms)");
+        appendSection(summary, "By command", byCommand);
+        appendSection(summary, "By page method", byPageMethod);
+        appendSection(summary, "By grid node", byNode);
+        return summary.toString();
+    }
+
+    private static void appendSection(StringBuilder summary, String title, Map<String, LatencyHistogram> histograms) {
+        summary.append(System.lineSeparator()).append("  ").append(title);
+        new TreeMap<>(histograms).values()
+            .forEach(histogram -> summary.append(System.lineSeparator()).append("    ").append(histogram.summary()));
+    }
+
+    LatencyHistogram getCommandTimings(String command) {
+        return byCommand.get(command);
+    }
+
+    LatencyHistogram getPageMethodTimings(String pageMethod) {
+        return byPageMethod.get(pageMethod);
+    }
+
+    LatencyHistogram getNodeTimings(String node) {
+        return byNode.get(node);
+    }
+
+    private void record(String command, String source, String node, long millis) {
+        byCommand.computeIfAbsent(command, LatencyHistogram::new).record(millis);
+        byPageMethod.computeIfAbsent(source, LatencyHistogram::new).record(millis);
+        byNode.computeIfAbsent(node, LatencyHistogram::new).record(millis);
+    }
+
+    /**
+     * Command name with the kind of object it was sent to, e.g. element.click
+     */
+    static String commandName(Object target, Method method) {
+        String prefix;
+        if (target instanceof WebElement) {
+            prefix = "element";
+        } else if (target instanceof WebDriver) {
+            prefix = "driver";
+        } else if (target instanceof WebDriver.Navigation) {
+            prefix = "navigate";
+        } else if (target instanceof WebDriver.TargetLocator) {
+            prefix = "switchTo";
+        } else if (target instanceof Alert) {
+            prefix = "alert";
+        } else {
+            prefix = "manage";
+        }
+        return prefix + "." + method.getName();
+    }
+
+    /**
+     * Name a stack frame as a command source: page-object methods, else test methods
+     *
+     * @return e.g. CartPage.getCartTotal, or null if the frame is neither
+     */
+    static String sourceName(String className, String methodName) {
+        boolean page = className.startsWith(PAGES_PACKAGE) && !className.startsWith(PAGES_BASE_PACKAGE);
+        if (!page && !className.startsWith(TESTS_PACKAGE)) {
+            return null;
+        }
+        String simpleName = className.substring(className.lastIndexOf('.') + 1);
+        int nested = simpleName.indexOf('$');
+        if (nested > 0) {
+            simpleName = simpleName.substring(0, nested);
+        }
+        // lambda$getCartTotal$0 -> getCartTotal
+        if (methodName.startsWith("lambda$")) {
+            int end = methodName.indexOf('$', "lambda$".length());
+            methodName = methodName.substring("lambda$".length(), end > 0 ? end : methodName.length());
+        }
+        return simpleName + "." + methodName;
+    }
+
+    /**
+     * Innermost page-object method on the stack, else the test method
+     */
+    private static String callingSource() {
+        return STACK_WALKER.walk(frames -> {
+            String testMethod = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String name = sourceName(frame.getClassName(), frame.getMethodName());
+                if (name == null) {
+                    continue;
+                }
+                if (frame.getClassName().startsWith(PAGES_PACKAGE)) {
+                    return name;
+                }
+                if (testMethod == null) {
+                    testMethod = name;
+                }
+            }
+            return testMethod != null ? testMethod : "(other)";
+        });
+    }
+
+    /**
+     * Times the commands of one instrumented session
+     */
+    private final class TimingListener implements WebDriverListener {
+
+        private final String node;
+        private final ThreadLocal<Deque<Long>> starts = ThreadLocal.withInitial(ArrayDeque::new);
+        private final AtomicInteger inFlight = new AtomicInteger();
+        volatile long inFlightSince;
+
+        TimingListener(String node) {
+            this.node = node;
+        }
+
+        @Override
+        public void beforeAnyCall(Object target, Method method, Object[] args) {
+            if (!NON_COMMANDS.contains(method.getName())) {
+                if (inFlight.getAndIncrement() == 0) {
+                    inFlightSince = System.currentTimeMillis();
+                }
+                starts.get().push(System.nanoTime());
+            }
+        }
+
+        @Override
+        public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+            finish(target, method);
+        }
+
+        @Override
+        public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+            finish(target, method);
+        }
+
+        private void finish(Object target, Method method) {
+            if (NON_COMMANDS.contains(method.getName())) {
+                return;
+            }
+            Long start = starts.get().poll();
+            if (start != null) {
+                if (inFlight.decrementAndGet() == 0) {
+                    inFlightSince = 0;
+                }
+                long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                record(commandName(target, method), callingSource(), node, millis);
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.ecommerce.driver;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for CommandTimer
+ * The session is a WebDriver stub, so no browser is needed
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class CommandTimerTest {
+
+    @Test(description = "Test every command is timed per command type and node")
+    public void testCommandsRecorded() {
+        CommandTimer timer = new CommandTimer(true, Collections::emptyMap);
+        WebDriver driver = timer.instrument(stubDriver());
+
+        driver.getTitle();
+        driver.getTitle();
+        assertThrows(NoSuchElementException.class, () -> driver.findElement(By.id("missing")));
+
+        assertEquals(timer.getCommandTimings("driver.getTitle").getCount(), 2);
+        assertEquals(timer.getCommandTimings("driver.findElement").getCount(), 1);
+        assertEquals(timer.getNodeTimings("local").getCount(), 3);
+        assertTrue(timer.getMetricsSummary().contains("driver.getTitle"));
+    }
+
+    @Test(description = "Test commands issued from a test are attributed to the test method")
+    public void testCommandsAttributedToCaller() {
+        CommandTimer timer = new CommandTimer(true, Collections::emptyMap);
+        WebDriver driver = timer.instrument(stubDriver());
+
+        driver.getCurrentUrl();
+
+        assertNull(timer.getPageMethodTimings("CommandTimerTest.testCommandsAttributedToCaller"),
+            "Only page objects and classes under com.ecommerce.tests are sources");
+        assertEquals(timer.getPageMethodTimings("(other)").getCount(), 1);
+    }
+
+    @Test(description = "Test stack frames are named after page-object and test methods")
+    public void testSourceName() {
+        assertEquals(CommandTimer.sourceName("com.ecommerce.pages.CartPage", "getCartTotal"),
+            "CartPage.getCartTotal");
+        assertEquals(CommandTimer.sourceName("com.ecommerce.pages.CartPage", "lambda$getCartTotal$0"),
+            "CartPage.getCartTotal");
+        assertEquals(CommandTimer.sourceName("com.ecommerce.tests.ui.CartTest", "testAddToCart"),
+            "CartTest.testAddToCart");
+        assertNull(CommandTimer.sourceName("com.ecommerce.pages.base.BasePage", "click"));
+        assertNull(CommandTimer.sourceName("com.ecommerce.wait.WaitEngine", "until"));
+    }
+
+    @Test(description = "Test the instrumented driver still exposes the original session")
+    public void testWrapsOriginalDriver() {
+        WebDriver original = stubDriver();
+        WebDriver driver = new CommandTimer(true, Collections::emptyMap).instrument(original);
+
+        assertTrue(driver instanceof WrapsDriver);
+        assertSame(((WrapsDriver) driver).getWrappedDriver(), original);
+        assertSame(new CommandTimer(false, Collections::emptyMap).instrument(original), original);
+    }
+
+    @Test(description = "Test a session reports a command in flight only while the command runs")
+    public void testCommandInFlight() {
+        CommandTimer timer = new CommandTimer(true, Collections::emptyMap);
+        AtomicLong seenDuringCommand = new AtomicLong();
+        WebDriver[] original = new WebDriver[1];
+        original[0] = (WebDriver) Proxy.newProxyInstance(CommandTimerTest.class.getClassLoader(),
+            new Class<?>[]{WebDriver.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getTitle":
+                        seenDuringCommand.set(timer.commandInFlightSince(original[0]));
+                        return "Swag Labs";
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        return null;
+                }
+            });
+        WebDriver driver = timer.instrument(original[0]);
+        long before = System.currentTimeMillis();
+
+        driver.getTitle();
+
+        assertTrue(seenDuringCommand.get() >= before, "Command should be in flight while it runs");
+        assertEquals(timer.commandInFlightSince(original[0]), 0L, "No command should be in flight afterwards");
+        assertEquals(timer.commandInFlightSince(stubDriver()), 0L, "Unknown sessions have no command in flight");
+    }
+
+    private static WebDriver stubDriver() {
+        return (WebDriver) Proxy.newProxyInstance(CommandTimerTest.class.getClassLoader(),
+            new Class<?>[]{WebDriver.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getTitle":
+                        return "Swag Labs";
+                    case "getCurrentUrl":
+                        return "https://www.saucedemo.com/inventory.html";
+                    case "findElement":
+                        throw new NoSuchElementException("missing");
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        return null;
+                }
+            });
+    }
+}
@@ -0,0 +1,215 @@
+package com.ecommerce.driver;
+
+import com.ecommerce.config.ConfigManager;
+import com.ecommerce.exceptions.DriverResolutionException;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves browser driver binaries once per JVM
+ *
+ * Resolution order for each browser:
+ * 1. Driver system property already pointing to an existing file
+ * 2. Entry in the on-disk manifest (driver.manifest.path) whose binary
+ *    still exists and is younger than driver.manifest.ttl.hours
+ * 3. WebDriverManager (network) - result is written back to the manifest
+ *
+ * With driver.offline=true step 3 is never taken and the TTL is ignored,
+ * so air-gapped runners never touch the network.
+ *
+ * Thread-safe singleton pattern.
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class DriverBinaryResolver {
+
+    private static final Logger log = LogManager.getLogger(DriverBinaryResolver.class);
+
+    private static volatile DriverBinaryResolver instance;
+
+    private final Map<String, Path> resolved = new ConcurrentHashMap<>();
+    private final Path manifestPath;
+    private final boolean offline;
+    private final long ttlMillis;
+
+    private DriverBinaryResolver() {
+        this(Paths.get(ConfigManager.getInstance().getProperty("driver.manifest.path",
+                ".webdrivers/driver-manifest.properties")),
+            ConfigManager.getInstance().getBoolean("driver.offline", false),
+            ConfigManager.getInstance().getLong("driver.manifest.ttl.hours", 24));
+    }
+
+    DriverBinaryResolver(Path manifestPath, boolean offline, long ttlHours) {
+        this.manifestPath = manifestPath;
+        this.offline = offline;
+        this.ttlMillis = ttlHours * 60 * 60 * 1000;
+    }
+
+    /**
+     * Get the singleton instance of DriverBinaryResolver
+     *
+     * @return the DriverBinaryResolver instance
+     */
+    public static DriverBinaryResolver getInstance() {
+        if (instance == null) {
+            synchronized (DriverBinaryResolver.class) {
+                if (instance == null) {
+                    instance = new DriverBinaryResolver();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Resolve the driver binary for a browser and export its system property
+     * Only the first call per browser does any work
+     *
+     * @param browserName chrome, firefox or edge
+     * @return path of the driver binary
+     * @throws DriverResolutionException if offline and the driver is unknown
+     */
+    public Path resolve(String browserName) {
+        String browser = normalize(browserName);
+        return resolved.computeIfAbsent(browser, this::doResolve);
+    }
+
+    private Path doResolve(String browser) {
+        long start = System.currentTimeMillis();
+        String property = driverProperty(browser);
+
+        String preset = System.getProperty(property);
+        if (preset != null && Files.isRegularFile(Paths.get(preset))) {
+            log.info("Using {} from system property {}", preset, property);
+            return Paths.get(preset);
+        }
+
+        Path path = fromManifest(browser);
+        if (path == null) {
+            if (offline) {
+                throw DriverResolutionException.offlineMiss(browser, manifestPath.toString());
+            }
+            path = resolveOnline(browser);
+        }
+
+        System.setProperty(property, path.toString());
+        log.info("Resolved {} driver in {} ms: {}", browser, System.currentTimeMillis() - start, path);
+        return path;
+    }
+
+    /**
+     * Look up a usable manifest entry
+     */
+    private Path fromManifest(String browser) {
+        Properties manifest = loadManifest();
+        String pathValue = manifest.getProperty(browser + ".path");
+        if (pathValue == null) {
+            return null;
+        }
+
+        Path path = Paths.get(pathValue);
+        if (!Files.isRegularFile(path)) {
+            log.warn("Manifest entry for {} points to missing file: {}", browser, path);
+            return null;
+        }
+
+        long resolvedAt = parseLong(manifest.getProperty(browser + ".resolved.at"));
+        if (!offline && System.currentTimeMillis() - resolvedAt > ttlMillis) {
+            log.info("Manifest entry for {} is older than TTL, re-resolving", browser);
+            return null;
+        }
+
+        log.info("Using {} driver {} from manifest", browser, manifest.getProperty(browser + ".version", "?"));
+        return path;
+    }
+
+    /**
+     * Resolve through WebDriverManager and record the result in the manifest
+     */
+    protected Path resolveOnline(String browser) {
+        WebDriverManager manager = WebDriverManager.getInstance(browser);
+        manager.setup();
+        Path path = Paths.get(manager.getDownloadedDriverPath());
+        writeManifestEntry(browser, path, manager.getDownloadedDriverVersion());
+        return path;
+    }
+
+    void writeManifestEntry(String browser, Path path, String version) {
+        synchronized (DriverBinaryResolver.class) {
+            Properties manifest = loadManifest();
+            manifest.setProperty(browser + ".path", path.toAbsolutePath().toString());
+            manifest.setProperty(browser + ".version", version != null ? version : "unknown");
+            manifest.setProperty(browser + ".resolved.at", String.valueOf(System.currentTimeMillis()));
+
+            try {
+                Path parent = manifestPath.toAbsolutePath().getParent();
+                Files.createDirectories(parent);
+                // Write to a temp file and move, so parallel JVMs never read a partial manifest
+                Path temp = Files.createTempFile(parent, "driver-manifest", ".tmp");
+                try (OutputStream output = Files.newOutputStream(temp)) {
+                    manifest.store(output, "Resolved browser driver binaries");
+                }
+                Files.move(temp, manifestPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                log.warn("Could not write driver manifest {}: {}", manifestPath, e.getMessage());
+            }
+        }
+    }
+
+    private Properties loadManifest() {
+        Properties manifest = new Properties();
+        if (Files.isRegularFile(manifestPath)) {
+            try (InputStream input = Files.newInputStream(manifestPath)) {
+                manifest.load(input);
+            } catch (IOException e) {
+                log.warn("Could not read driver manifest {}: {}", manifestPath, e.getMessage());
+            }
+        }
+        return manifest;
+    }
+
+    private static String normalize(String browserName) {
+        String browser = browserName == null ? "chrome" : browserName.toLowerCase();
+        switch (browser) {
+            case "firefox":
+            case "edge":
+                return browser;
+            case "chrome":
+            default:
+                return "chrome";
+        }
+    }
+
+    private static String driverProperty(String browser) {
+        switch (browser) {
+            case "firefox":
+                return "webdriver.gecko.driver";
+            case "edge":
+                return "webdriver.edge.driver";
+            case "chrome":
+            default:
+                return "webdriver.chrome.driver";
+        }
+    }
+
+    private static long parseLong(String value) {
+        try {
+            return value != null ? Long.parseLong(value) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
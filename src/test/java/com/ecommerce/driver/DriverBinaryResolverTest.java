@@ -0,0 +1,109 @@
+package com.ecommerce.driver;
+
+import com.ecommerce.exceptions.DriverResolutionException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for DriverBinaryResolver
+ * Online resolution is stubbed, so these tests never touch the network
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class DriverBinaryResolverTest {
+
+    private Path tempDir;
+    private Path manifest;
+    private Path fakeDriver;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        System.clearProperty("webdriver.chrome.driver");
+        tempDir = Files.createTempDirectory("resolver-test");
+        manifest = tempDir.resolve("driver-manifest.properties");
+        fakeDriver = Files.createFile(tempDir.resolve("chromedriver"));
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        System.clearProperty("webdriver.chrome.driver");
+    }
+
+    @Test(description = "Test online resolution runs once and is written to the manifest")
+    public void testResolveOnlineOnceAndPersist() {
+        CountingResolver resolver = new CountingResolver(manifest, false);
+
+        Path first = resolver.resolve("chrome");
+        Path second = resolver.resolve("CHROME");
+
+        assertEquals(resolver.onlineCalls.get(), 1, "WebDriverManager should be called once per JVM");
+        assertEquals(first, second);
+        assertTrue(Files.exists(manifest), "Manifest should be persisted");
+        assertEquals(System.getProperty("webdriver.chrome.driver"), fakeDriver.toString());
+    }
+
+    @Test(description = "Test a new resolver reuses the manifest without going online")
+    public void testManifestReusedAcrossRuns() {
+        new CountingResolver(manifest, false).resolve("chrome");
+        System.clearProperty("webdriver.chrome.driver");
+
+        CountingResolver nextRun = new CountingResolver(manifest, false);
+        Path path = nextRun.resolve("chrome");
+
+        assertEquals(nextRun.onlineCalls.get(), 0, "Manifest hit should skip online resolution");
+        assertEquals(path.toAbsolutePath(), fakeDriver.toAbsolutePath());
+    }
+
+    @Test(description = "Test offline mode resolves from manifest")
+    public void testOfflineUsesManifest() {
+        new CountingResolver(manifest, false).resolve("chrome");
+        System.clearProperty("webdriver.chrome.driver");
+
+        CountingResolver offline = new CountingResolver(manifest, true);
+        offline.resolve("chrome");
+
+        assertEquals(offline.onlineCalls.get(), 0, "Offline mode must never go online");
+    }
+
+    @Test(description = "Test offline mode without manifest entry throws DriverResolutionException",
+          expectedExceptions = DriverResolutionException.class)
+    public void testOfflineMissThrows() {
+        new CountingResolver(manifest, true).resolve("chrome");
+    }
+
+    @Test(description = "Test existing system property short-circuits resolution")
+    public void testSystemPropertyWins() {
+        System.setProperty("webdriver.chrome.driver", fakeDriver.toString());
+        CountingResolver resolver = new CountingResolver(manifest, true);
+
+        assertEquals(resolver.resolve("chrome"), fakeDriver);
+        assertEquals(resolver.onlineCalls.get(), 0);
+    }
+
+    /**
+     * Resolver with WebDriverManager replaced by a local stub
+     */
+    private class CountingResolver extends DriverBinaryResolver {
+        final AtomicInteger onlineCalls = new AtomicInteger();
+
+        CountingResolver(Path manifestPath, boolean offline) {
+            super(manifestPath, offline, 24);
+        }
+
+        @Override
+        protected Path resolveOnline(String browser) {
+            onlineCalls.incrementAndGet();
+            writeManifestEntry(browser, fakeDriver, "1.0");
+            return fakeDriver;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.ecommerce.driver;
+
+import com.ecommerce.config.ConfigManager;
+import com.ecommerce.grid.GridHttpClientFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Driver Factory - Creates configured WebDriver sessions
+ * Supports both local and Selenium Grid execution
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class DriverFactory {
+
+    private static final Logger log = LogManager.getLogger(DriverFactory.class);
+
+    private final ConfigManager config;
+
+    public DriverFactory(ConfigManager config) {
+        this.config = config;
+    }
+
+    /**
+     * Create and configure a new browser session for the given key
+     */
+    public WebDriver createDriver(SessionKey key) {
+        WebDriver webDriver;
+
+        if (key.isRemote()) {
+            webDriver = createRemoteDriver(key.getBrowser(), key.getGridUrl(), key.isHeadless());
+            log.info("Using Selenium Grid at: {}", key.getGridUrl());
+        } else {
+            webDriver = createLocalDriver(key.getBrowser(), key.isHeadless());
+            log.info("Using local WebDriver");
+        }
+
+        // Configure driver
+        webDriver.manage().window().maximize();
+        // Waiting is done by WaitEngine; an implicit wait would stall every negative check
+        webDriver.manage().timeouts().implicitlyWait(
+            Duration.ofSeconds(config.getInt("implicit.wait", 0)));
+        webDriver.manage().timeouts().pageLoadTimeout(
+            Duration.ofSeconds(config.getInt("page.load.timeout", 30)));
+
+        log.info("Driver created: {}", key);
+        return webDriver;
+    }
+
+    /**
+     * Create Remote WebDriver for Selenium Grid
+     * Command traffic goes through the shared GridHttpClientFactory client
+     */
+    private WebDriver createRemoteDriver(String browserName, String gridUrl, boolean isHeadless) {
+        switch (browserName.toLowerCase()) {
+            case "firefox":
+                FirefoxOptions ffOptions = new FirefoxOptions();
+                if (isHeadless) ffOptions.addArguments("--headless");
+                return newRemoteDriver(gridUrl, ffOptions);
+
+            case "edge":
+                EdgeOptions edgeOptions = new EdgeOptions();
+                if (isHeadless) edgeOptions.addArguments("--headless");
+                return newRemoteDriver(gridUrl, edgeOptions);
+
+            case "chrome":
+            default:
+                ChromeOptions chromeOptions = new ChromeOptions();
+                if (isHeadless) chromeOptions.addArguments("--headless");
+                chromeOptions.addArguments("--disable-dev-shm-usage");
+                chromeOptions.addArguments("--no-sandbox");
+                chromeOptions.addArguments("--window-size=1920,1080");
+                chromeOptions.addArguments("--disable-gpu");
+                return newRemoteDriver(gridUrl, chromeOptions);
+        }
+    }
+
+    private WebDriver newRemoteDriver(String gridUrl, Capabilities options) {
+        GridHttpClientFactory clientFactory = GridHttpClientFactory.getInstance();
+        try {
+            HttpCommandExecutor executor = new HttpCommandExecutor(
+                Map.of(), clientFactory.clientConfig(gridUrl), clientFactory);
+            return new RemoteWebDriver(executor, options);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid Selenium Grid URL: {}", gridUrl);
+            throw new RuntimeException("Invalid Selenium Grid URL", e);
+        }
+    }
+
+    /**
+     * Create Local WebDriver
+     * Driver binaries are resolved once per JVM by DriverBinaryResolver
+     */
+    private WebDriver createLocalDriver(String browserName, boolean isHeadless) {
+        switch (browserName.toLowerCase()) {
+            case "firefox":
+                DriverBinaryResolver.getInstance().resolve("firefox");
+                FirefoxOptions ffOptions = new FirefoxOptions();
+                if (isHeadless) ffOptions.addArguments("--headless");
+                return new FirefoxDriver(ffOptions);
+
+            case "edge":
+                DriverBinaryResolver.getInstance().resolve("edge");
+                EdgeOptions edgeOptions = new EdgeOptions();
+                if (isHeadless) edgeOptions.addArguments("--headless");
+                return new EdgeDriver(edgeOptions);
+
+            case "chrome":
+            default:
+                DriverBinaryResolver.getInstance().resolve("chrome");
+                ChromeOptions chromeOptions = new ChromeOptions();
+                if (isHeadless) chromeOptions.addArguments("--headless");
+                chromeOptions.addArguments("--disable-dev-shm-usage");
+                chromeOptions.addArguments("--no-sandbox");
+                chromeOptions.addArguments("--window-size=1920,1080");
+                return new ChromeDriver(chromeOptions);
+        }
+    }
+}
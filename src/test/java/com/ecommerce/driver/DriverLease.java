@@ -0,0 +1,80 @@
+package com.ecommerce.driver;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * A browser session handed out by the DriverPool to a single test
+ * Must be returned with DriverPool.release() when the test finishes
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class DriverLease {
+
+    private final WebDriver driver;
+    private final SessionKey key;
+    private final long createdAt;
+    private int useCount;
+
+    // Set when the lease is an isolated browser context inside a worker browser
+    private String browserContextId;
+    private String windowHandle;
+    private DriverLease worker;
+
+    DriverLease(WebDriver driver, SessionKey key) {
+        this.driver = driver;
+        this.key = key;
+        this.createdAt = System.currentTimeMillis();
+    }
+
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    public SessionKey getKey() {
+        return key;
+    }
+
+    public int getUseCount() {
+        return useCount;
+    }
+
+    public long getAgeMillis() {
+        return System.currentTimeMillis() - createdAt;
+    }
+
+    void incrementUseCount() {
+        useCount++;
+    }
+
+    public boolean isBrowserContext() {
+        return browserContextId != null;
+    }
+
+    String getBrowserContextId() {
+        return browserContextId;
+    }
+
+    String getWindowHandle() {
+        return windowHandle;
+    }
+
+    void bindBrowserContext(String browserContextId, String windowHandle, DriverLease worker) {
+        this.browserContextId = browserContextId;
+        this.windowHandle = windowHandle;
+        this.worker = worker;
+    }
+
+    /**
+     * @return the worker browser lease hosting this context
+     */
+    DriverLease getWorker() {
+        return worker;
+    }
+
+    @Override
+    public String toString() {
+        return key + (isBrowserContext() ? " [context " + browserContextId + "]" : "")
+            + " (uses: " + useCount + ")";
+    }
+}
@@ -0,0 +1,624 @@
+package com.ecommerce.driver;
+
+import com.ecommerce.config.ConfigManager;
+import com.ecommerce.exceptions.SessionBudgetException;
+import com.ecommerce.metrics.LatencyHistogram;
+import com.ecommerce.wait.NetworkIdleMonitor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Driver Pool - Reuses browser sessions across test methods
+ *
+ * Sessions are keyed by browser and options (SessionKey). A returned
+ * session is reset (cookies, localStorage, sessionStorage, extra windows)
+ * and parked on base.url, so a leased driver always starts from the
+ * same state as a freshly created one.
+ *
+ * A session is evicted (quit) when:
+ * - it has served driver.pool.max.uses tests
+ * - the test that used it failed
+ * - it fails the health check or the reset
+ * - the SessionWatchdog killed it, or its grid node is quarantined
+ *
+ * Sessions can be pre-warmed in the background (warmUp) and the pool
+ * is topped up asynchronously to driver.pool.min.idle while tests run.
+ *
+ * Live sessions (leased, idle or being created) never exceed
+ * driver.session.budget across the whole suite, no matter how many
+ * TestNG threads the parallel <test> blocks start. A lease that finds
+ * the budget exhausted waits for a session of its own key to come back
+ * and, meanwhile, quits idle sessions of other keys so their budget can
+ * be reused (work-stealing between browsers). Dedicated sessions, such as
+ * the worker browsers of the BrowserContextManager, count against the
+ * same budget but are never reset, reused or heartbeated by the pool.
+ *
+ * Thread-safe singleton pattern.
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class DriverPool {
+
+    private static final Logger log = LogManager.getLogger(DriverPool.class);
+
+    private static volatile DriverPool instance;
+
+    private final DriverFactory driverFactory;
+    private final SessionWatchdog watchdog;
+    private final Map<SessionKey, SessionSlot> slots = new ConcurrentHashMap<>();
+    private final Set<DriverLease> leasedSessions = ConcurrentHashMap.newKeySet();
+    private final Set<DriverLease> dedicatedSessions = ConcurrentHashMap.newKeySet();
+    private final ExecutorService warmupExecutor;
+    private volatile boolean closed;
+
+    private final boolean enabled;
+    private final int maxUses;
+    private final int maxIdlePerKey;
+    private final int minIdlePerKey;
+    private final long leaseWaitMillis;
+    private final String baseUrl;
+    private final int sessionBudget;
+    private final long budgetWaitMillis;
+    private final Semaphore budgetPermits;
+
+    // Pool statistics
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger reused = new AtomicInteger();
+    private final AtomicInteger evicted = new AtomicInteger();
+    private final AtomicInteger stolen = new AtomicInteger();
+    private final AtomicInteger peakLive = new AtomicInteger();
+    private final LatencyHistogram leaseWaitTimes = new LatencyHistogram("lease.wait.ms");
+    private final LatencyHistogram creationTimes = new LatencyHistogram("session.create.ms");
+
+    // How often a lease blocked on the budget re-checks its own idle sessions
+    private static final long BUDGET_POLL_MILLIS = 250;
+
+    // New sessions discarded for landing on a quarantined node before one is accepted
+    private static final int MAX_QUARANTINE_RETRIES = 2;
+
+    private DriverPool() {
+        ConfigManager config = ConfigManager.getInstance();
+        this.driverFactory = new DriverFactory(config);
+        this.watchdog = SessionWatchdog.getInstance();
+        this.enabled = config.getBoolean("driver.pool.enabled", true);
+        this.maxUses = Math.max(1, config.getInt("driver.pool.max.uses", 10));
+        this.maxIdlePerKey = Math.max(1, config.getInt("driver.pool.max.idle", config.getInt("thread.count", 8)));
+        this.minIdlePerKey = Math.min(maxIdlePerKey, Math.max(0, config.getInt("driver.pool.min.idle", 0)));
+        this.leaseWaitMillis = config.getLong("driver.pool.lease.wait.ms", 30000);
+        this.baseUrl = config.getProperty("base.url");
+        this.sessionBudget = Math.max(1, config.getInt("driver.session.budget", 16));
+        this.budgetWaitMillis = config.getLong("driver.session.budget.wait.ms", 300000);
+        this.budgetPermits = new Semaphore(sessionBudget, true);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.warmupExecutor = Executors.newFixedThreadPool(
+            Math.max(1, config.getInt("driver.pool.warmup.threads", 4)), runnable -> {
+                Thread thread = new Thread(runnable, "driver-warmup-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+        log.info("DriverPool initialized (enabled: {}, max uses: {}, idle per key: {}-{}, session budget: {})",
+            enabled, maxUses, minIdlePerKey, maxIdlePerKey, sessionBudget);
+    }
+
+    /**
+     * Get the singleton instance of DriverPool
+     *
+     * @return the DriverPool instance
+     */
+    public static DriverPool getInstance() {
+        if (instance == null) {
+            synchronized (DriverPool.class) {
+                if (instance == null) {
+                    instance = new DriverPool();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Open sessions in the background so the first wave of tests
+     * finds ready drivers instead of creating them all at once
+     *
+     * @param key browser and options of the sessions to open
+     * @param count number of sessions to open in parallel
+     */
+    public void warmUp(SessionKey key, int count) {
+        if (!enabled || count <= 0) {
+            return;
+        }
+        SessionSlot slot = slotFor(key);
+        int target = Math.min(count, maxIdlePerKey);
+        log.info("Warming up {} session(s) for {}", target, key);
+        for (int i = 0; i < target; i++) {
+            createInBackground(slot);
+        }
+    }
+
+    /**
+     * Lease a live session for the given key
+     * Reuses a healthy idle session when available, waits for a session
+     * that is already being created, otherwise creates one once the
+     * session budget allows it
+     *
+     * @param key browser and options of the requested session
+     * @return a lease positioned on base.url
+     * @throws SessionBudgetException if the budget stays exhausted for driver.session.budget.wait.ms
+     */
+    public DriverLease lease(SessionKey key) {
+        long start = System.currentTimeMillis();
+        SessionSlot slot = slotFor(key);
+
+        DriverLease lease = takeIdle(slot);
+        if (lease == null) {
+            lease = awaitPending(slot);
+        }
+        if (lease == null) {
+            lease = awaitBudget(slot);
+        }
+
+        if (lease != null) {
+            reused.incrementAndGet();
+            leaseWaitTimes.record(System.currentTimeMillis() - start);
+            log.info("Reusing pooled session: {}", lease);
+        } else {
+            lease = createSession(key);
+            leaseWaitTimes.record(System.currentTimeMillis() - start);
+        }
+
+        lease.incrementUseCount();
+        leasedSessions.add(lease);
+        watchdog.watch(lease);
+        topUp(slot);
+        return lease;
+    }
+
+    /**
+     * Return a session to the pool
+     *
+     * @param lease the lease obtained from lease()
+     * @param failed true if the test using the session failed
+     */
+    public void release(DriverLease lease, boolean failed) {
+        if (lease == null || !leasedSessions.remove(lease)) {
+            return;
+        }
+        boolean killed = watchdog.unwatch(lease);
+
+        if (killed) {
+            evict(lease, "killed by watchdog");
+        } else if (!enabled) {
+            evict(lease, "pooling disabled");
+        } else if (watchdog.isOnQuarantinedNode(lease)) {
+            evict(lease, "node quarantined");
+        } else if (failed) {
+            evict(lease, "test failed");
+        } else if (lease.getUseCount() >= maxUses) {
+            evict(lease, "reached max uses (" + maxUses + ")");
+        } else if (!resetSession(lease)) {
+            evict(lease, "reset failed");
+        } else if (!offerIdle(slotFor(lease.getKey()), lease)) {
+            evict(lease, "pool full");
+        } else {
+            log.info("Session returned to pool: {}", lease);
+        }
+    }
+
+    /**
+     * Open a session that stays outside the lease/reset cycle until
+     * closeDedicated(), e.g. a worker browser shared by browser contexts
+     * It takes a budget permit (or an idle session of the key) like a lease
+     *
+     * @param key browser and options of the session
+     * @return a lease positioned on base.url
+     * @throws SessionBudgetException if the budget stays exhausted for driver.session.budget.wait.ms
+     */
+    DriverLease openDedicated(SessionKey key) {
+        SessionSlot slot = slotFor(key);
+        DriverLease lease = takeIdle(slot);
+        if (lease == null) {
+            lease = awaitBudget(slot);
+        }
+        if (lease == null) {
+            lease = createSession(key);
+        }
+        dedicatedSessions.add(lease);
+        return lease;
+    }
+
+    /**
+     * Quit a session obtained from openDedicated() and return its budget
+     */
+    void closeDedicated(DriverLease lease, String reason) {
+        if (dedicatedSessions.remove(lease)) {
+            evict(lease, reason);
+        }
+    }
+
+    /**
+     * Quit every pooled, leased and dedicated session (call after suite)
+     */
+    public void shutdown() {
+        closed = true;
+        warmupExecutor.shutdownNow();
+        try {
+            warmupExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        for (SessionSlot slot : slots.values()) {
+            DriverLease lease;
+            while ((lease = slot.idle.poll()) != null) {
+                evict(lease, "pool shutdown");
+            }
+        }
+        for (DriverLease lease : leasedSessions) {
+            evict(lease, "pool shutdown");
+        }
+        leasedSessions.clear();
+        for (DriverLease lease : dedicatedSessions) {
+            evict(lease, "pool shutdown");
+        }
+        dedicatedSessions.clear();
+
+        log.info("DriverPool shut down - created: {}, reused: {}, evicted: {}, stolen: {}",
+            created.get(), reused.get(), evicted.get(), stolen.get());
+        log.info(getMetricsSummary());
+    }
+
+    /**
+     * Compare how long tests waited for a lease with how long
+     * creating a session from scratch takes
+     */
+    public String getMetricsSummary() {
+        long leases = leaseWaitTimes.getCount();
+        double estimatedSaved = leases * creationTimes.getMean() - leaseWaitTimes.getSum();
+        return String.format("Driver pool metrics%n  %s%n  %s%n  Estimated time saved: %.0f ms over %d lease(s)%n"
+                + "  Session budget: %d, peak live: %d, stolen from other browsers: %d",
+            leaseWaitTimes.summary(), creationTimes.summary(), Math.max(0, estimatedSaved), leases,
+            sessionBudget, peakLive.get(), stolen.get());
+    }
+
+    private SessionSlot slotFor(SessionKey key) {
+        return slots.computeIfAbsent(key, SessionSlot::new);
+    }
+
+    private DriverLease takeIdle(SessionSlot slot) {
+        DriverLease lease;
+        while ((lease = slot.idle.poll()) != null) {
+            if (isHealthy(lease)) {
+                return lease;
+            }
+            evict(lease, "failed health check");
+        }
+        return null;
+    }
+
+    /**
+     * Wait for a background creation only if there are more sessions in
+     * flight than threads already waiting for them
+     * A creation that fails wakes its waiter at once, so it goes on to
+     * create a session itself instead of waiting out driver.pool.lease.wait.ms
+     */
+    private DriverLease awaitPending(SessionSlot slot) {
+        synchronized (slot) {
+            if (slot.waiters.get() >= slot.pending.get()) {
+                return null;
+            }
+            slot.waiters.incrementAndGet();
+        }
+        boolean waiting = true;
+        try {
+            long deadline = System.currentTimeMillis() + leaseWaitMillis;
+            while (true) {
+                DriverLease lease = slot.idle.poll();
+                if (lease != null) {
+                    if (isHealthy(lease)) {
+                        return lease;
+                    }
+                    evict(lease, "failed health check");
+                    continue;
+                }
+                synchronized (slot) {
+                    long remaining = deadline - System.currentTimeMillis();
+                    // More waiters than creations left: the one this thread waited for failed
+                    if (remaining <= 0 || slot.waiters.get() > slot.pending.get()) {
+                        slot.waiters.decrementAndGet();
+                        waiting = false;
+                        return null;
+                    }
+                    if (slot.idle.isEmpty()) {
+                        slot.wait(remaining);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            if (waiting) {
+                synchronized (slot) {
+                    slot.waiters.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * Reserve budget for a new session
+     * While the budget is exhausted, prefer a session of this key that is
+     * returned in the meantime, and free budget held by idle sessions of
+     * other keys
+     *
+     * @return an idle lease that became available, or null once a budget
+     *         permit is held and the caller must create the session
+     */
+    private DriverLease awaitBudget(SessionSlot slot) {
+        long start = System.currentTimeMillis();
+        try {
+            // Timed tryAcquire honours fairness, so queued leases are served first
+            if (budgetPermits.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+                return null;
+            }
+            log.info("Session budget of {} exhausted, waiting for a free session", sessionBudget);
+            long deadline = start + budgetWaitMillis;
+            while (System.currentTimeMillis() < deadline) {
+                DriverLease lease = takeIdle(slot);
+                if (lease != null) {
+                    return lease;
+                }
+                stealIdleSession(slot.key);
+                if (budgetPermits.tryAcquire(BUDGET_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return null;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw SessionBudgetException.exhausted(sessionBudget, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Quit one idle session of another key to return its budget
+     */
+    private void stealIdleSession(SessionKey requester) {
+        for (SessionSlot other : slots.values()) {
+            if (other.key.equals(requester)) {
+                continue;
+            }
+            DriverLease lease = other.idle.poll();
+            if (lease != null) {
+                stolen.incrementAndGet();
+                evict(lease, "budget needed for " + requester);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Keep driver.pool.min.idle sessions ready for the next leases
+     */
+    private void topUp(SessionSlot slot) {
+        if (!enabled || closed) {
+            return;
+        }
+        int missing = minIdlePerKey - slot.idle.size() - slot.pending.get();
+        for (int i = 0; i < missing; i++) {
+            createInBackground(slot);
+        }
+    }
+
+    private void createInBackground(SessionSlot slot) {
+        // Pre-warming never waits for budget, leases that need it take priority
+        if (!budgetPermits.tryAcquire()) {
+            log.debug("Skipping background creation for {}: session budget in use", slot.key);
+            return;
+        }
+        slot.pending.incrementAndGet();
+        try {
+            warmupExecutor.submit(() -> {
+                try {
+                    DriverLease lease = createSession(slot.key);
+                    if (closed || !offerIdle(slot, lease)) {
+                        evict(lease, closed ? "pool shutdown" : "pool full");
+                    }
+                } catch (Exception e) {
+                    log.warn("Background session creation failed for {}: {}", slot.key, e.getMessage());
+                } finally {
+                    creationFinished(slot);
+                }
+            });
+        } catch (Exception e) {
+            creationFinished(slot);
+            budgetPermits.release();
+            log.warn("Could not schedule session creation: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Count a background creation as done and wake the leases waiting on
+     * it; after a failure one of them finds no creation left to wait for
+     */
+    private void creationFinished(SessionSlot slot) {
+        synchronized (slot) {
+            slot.pending.decrementAndGet();
+            slot.notifyAll();
+        }
+    }
+
+    /**
+     * Open a new session, replacing sessions that land on a quarantined
+     * grid node (up to MAX_QUARANTINE_RETRIES times)
+     * The caller must hold a budget permit, which is returned if creation
+     * fails and otherwise on evict
+     */
+    private DriverLease createSession(SessionKey key) {
+        for (int attempt = 0; ; attempt++) {
+            DriverLease lease = openSession(key);
+            if (attempt >= MAX_QUARANTINE_RETRIES || !watchdog.isOnQuarantinedNode(lease)) {
+                return lease;
+            }
+            // The evict hands the permit back, so take it again for the replacement
+            evict(lease, "created on quarantined node");
+            reacquireBudget();
+        }
+    }
+
+    /**
+     * Take back a budget permit for a replacement session, bounded by
+     * driver.session.budget.wait.ms like any other lease
+     */
+    private void reacquireBudget() {
+        long start = System.currentTimeMillis();
+        try {
+            if (budgetPermits.tryAcquire(budgetWaitMillis, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw SessionBudgetException.exhausted(sessionBudget, System.currentTimeMillis() - start);
+    }
+
+    private DriverLease openSession(SessionKey key) {
+        long start = System.currentTimeMillis();
+        WebDriver driver;
+        try {
+            driver = driverFactory.createDriver(key);
+        } catch (RuntimeException e) {
+            budgetPermits.release();
+            throw e;
+        }
+        created.incrementAndGet();
+        peakLive.accumulateAndGet(getLiveCount(), Math::max);
+        DriverLease lease = new DriverLease(driver, key);
+        try {
+            driver.get(baseUrl);
+        } catch (RuntimeException e) {
+            evict(lease, "could not open base URL");
+            throw e;
+        }
+        creationTimes.record(System.currentTimeMillis() - start);
+        return lease;
+    }
+
+    private boolean offerIdle(SessionSlot slot, DriverLease lease) {
+        synchronized (slot) {
+            if (slot.idle.size() >= maxIdlePerKey || !slot.idle.offer(lease)) {
+                return false;
+            }
+            slot.notifyAll();
+            return true;
+        }
+    }
+
+    private boolean isHealthy(DriverLease lease) {
+        try {
+            lease.getDriver().getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            log.warn("Pooled session unhealthy: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Clear all client-side state and park the session on base.url
+     */
+    private boolean resetSession(DriverLease lease) {
+        WebDriver driver = lease.getDriver();
+        try {
+            // Close windows opened by the test, keep the first one
+            Set<String> handles = driver.getWindowHandles();
+            if (handles.size() > 1) {
+                String mainHandle = handles.iterator().next();
+                for (String handle : handles) {
+                    if (!handle.equals(mainHandle)) {
+                        driver.switchTo().window(handle).close();
+                    }
+                }
+                driver.switchTo().window(mainHandle);
+            }
+
+            // Storage is per-origin, so clear it before leaving the page
+            ((JavascriptExecutor) driver).executeScript(
+                "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            driver.manage().deleteAllCookies();
+            driver.get(baseUrl);
+            return true;
+        } catch (Exception e) {
+            log.warn("Could not reset session {}: {}", lease, e.getMessage());
+            return false;
+        }
+    }
+
+    private void evict(DriverLease lease, String reason) {
+        // Close the DevTools connection while the browser can still answer
+        NetworkIdleMonitor.getInstance().close(lease.getDriver());
+        try {
+            lease.getDriver().quit();
+            log.info("Driver closed - {} ({})", lease, reason);
+        } catch (Exception e) {
+            log.warn("Error closing driver: {}", e.getMessage());
+        }
+        BrowserContextManager.sessionClosed(lease.getDriver());
+        evicted.incrementAndGet();
+        budgetPermits.release();
+    }
+
+    public int getCreatedCount() {
+        return created.get();
+    }
+
+    public int getReusedCount() {
+        return reused.get();
+    }
+
+    public int getEvictedCount() {
+        return evicted.get();
+    }
+
+    public int getStolenCount() {
+        return stolen.get();
+    }
+
+    /**
+     * @return sessions currently open, whether leased or idle in the pool
+     */
+    public int getLiveCount() {
+        return created.get() - evicted.get();
+    }
+
+    /**
+     * Idle sessions and in-flight creations for one SessionKey
+     * Its monitor guards waiters against pending and is notified when an
+     * idle session is offered or a creation finishes
+     */
+    private static class SessionSlot {
+        final SessionKey key;
+        final BlockingQueue<DriverLease> idle = new LinkedBlockingQueue<>();
+        final AtomicInteger pending = new AtomicInteger();
+        final AtomicInteger waiters = new AtomicInteger();
+
+        SessionSlot(SessionKey key) {
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.ecommerce.driver;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.net.URL;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Navigation Tracker - Counts page loads per session
+ *
+ * Every get(), navigate().to/back/forward/refresh() on an instrumented
+ * session bumps the session's navigation epoch, and so does every page
+ * transition a page object waits for (a click that changes the route
+ * never passes through navigate()). Element handles cached under an
+ * older epoch belong to a page that is gone and are located again
+ * instead of failing with a stale reference first.
+ *
+ * Thread-safe singleton pattern.
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class NavigationTracker {
+
+    private static volatile NavigationTracker instance;
+
+    // Keyed weakly by the underlying session, so quit sessions are dropped
+    private final Map<WebDriver, AtomicLong> epochs = Collections.synchronizedMap(new WeakHashMap<>());
+
+    NavigationTracker() {
+    }
+
+    /**
+     * Get the singleton instance of NavigationTracker
+     *
+     * @return the NavigationTracker instance
+     */
+    public static NavigationTracker getInstance() {
+        if (instance == null) {
+            synchronized (NavigationTracker.class) {
+                if (instance == null) {
+                    instance = new NavigationTracker();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Listener to instrument the session with (see CommandTimer.instrument)
+     */
+    public WebDriverListener listenerFor(WebDriver driver) {
+        AtomicLong epoch = epochs.computeIfAbsent(unwrap(driver), d -> new AtomicLong());
+        return new WebDriverListener() {
+            @Override
+            public void afterGet(WebDriver d, String url) {
+                epoch.incrementAndGet();
+            }
+
+            @Override
+            public void afterTo(WebDriver.Navigation navigation, String url) {
+                epoch.incrementAndGet();
+            }
+
+            @Override
+            public void afterTo(WebDriver.Navigation navigation, URL url) {
+                epoch.incrementAndGet();
+            }
+
+            @Override
+            public void afterBack(WebDriver.Navigation navigation) {
+                epoch.incrementAndGet();
+            }
+
+            @Override
+            public void afterForward(WebDriver.Navigation navigation) {
+                epoch.incrementAndGet();
+            }
+
+            @Override
+            public void afterRefresh(WebDriver.Navigation navigation) {
+                epoch.incrementAndGet();
+            }
+        };
+    }
+
+    /**
+     * Record a page transition that did not go through get()/navigate(),
+     * e.g. a click on a link or a client-side route change
+     */
+    public void markNavigated(WebDriver driver) {
+        AtomicLong epoch = epochs.get(unwrap(driver));
+        if (epoch != null) {
+            epoch.incrementAndGet();
+        }
+    }
+
+    /**
+     * Current navigation epoch of a session (0 if it is not instrumented)
+     */
+    public long epochOf(WebDriver driver) {
+        AtomicLong epoch = epochs.get(unwrap(driver));
+        return epoch != null ? epoch.get() : 0;
+    }
+
+    private static WebDriver unwrap(WebDriver driver) {
+        while (driver instanceof WrapsDriver) {
+            driver = ((WrapsDriver) driver).getWrappedDriver();
+        }
+        return driver;
+    }
+}
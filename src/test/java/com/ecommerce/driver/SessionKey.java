@@ -0,0 +1,84 @@
+package com.ecommerce.driver;
+
+import com.ecommerce.config.ConfigManager;
+
+import java.util.Objects;
+
+/**
+ * Identifies a family of interchangeable browser sessions
+ * Two sessions with the same key can be reused for each other's tests
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public final class SessionKey {
+
+    private final String browser;
+    private final boolean headless;
+    private final String gridUrl;
+
+    private SessionKey(String browser, boolean headless, String gridUrl) {
+        this.browser = browser.toLowerCase();
+        this.headless = headless;
+        this.gridUrl = gridUrl;
+    }
+
+    /**
+     * Build the key for a browser using the current configuration
+     * SELENIUM_GRID_URL environment variable takes precedence (Docker)
+     *
+     * @param browserName browser requested by the test
+     * @param config configuration manager
+     * @return the session key
+     */
+    public static SessionKey forBrowser(String browserName, ConfigManager config) {
+        boolean isHeadless = config.getBoolean("headless", false);
+        boolean useGrid = config.getBoolean("selenium.grid", false);
+        String gridUrl = config.getProperty("selenium.grid.url", "http://localhost:4444/wd/hub");
+
+        // Check for environment variable override (Docker)
+        String envGridUrl = System.getenv("SELENIUM_GRID_URL");
+        if (envGridUrl != null && !envGridUrl.isEmpty()) {
+            useGrid = true;
+            gridUrl = envGridUrl;
+        }
+
+        return new SessionKey(browserName, isHeadless, useGrid ? gridUrl : null);
+    }
+
+    public String getBrowser() {
+        return browser;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    public boolean isRemote() {
+        return gridUrl != null;
+    }
+
+    public String getGridUrl() {
+        return gridUrl;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SessionKey)) return false;
+        SessionKey other = (SessionKey) o;
+        return headless == other.headless
+            && browser.equals(other.browser)
+            && Objects.equals(gridUrl, other.gridUrl);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(browser, headless, gridUrl);
+    }
+
+    @Override
+    public String toString() {
+        return browser + (headless ? "/headless" : "") + (isRemote() ? "@" + gridUrl : "@local");
+    }
+}
@@ -0,0 +1,382 @@
+package com.ecommerce.driver;
+
+import com.ecommerce.config.ConfigManager;
+import com.ecommerce.grid.GridStatus;
+import com.ecommerce.grid.GridStatusClient;
+import com.ecommerce.metrics.LatencyHistogram;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.SessionId;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Session Watchdog - Detects and recycles hung or degraded sessions
+ *
+ * Every leased session is heartbeated with a cheap command
+ * (getWindowHandle) on a background thread. A heartbeat that errors,
+ * or does not answer within watchdog.heartbeat.timeout.ms, counts as a
+ * failure; after watchdog.max.failures in a row the session is quit, so
+ * the test blocked on it fails right away instead of waiting out
+ * page.load.timeout, and the DriverPool evicts it on release.
+ *
+ * A heartbeat queues behind the test's own command on the same session,
+ * so no heartbeat is sent while CommandTimer reports a command in flight.
+ * The command itself is judged instead: it only counts as a failure once
+ * it runs longer than page.load.timeout plus the heartbeat timeout. When
+ * command timing is disabled, the heartbeat timeout is raised to at
+ * least page.load.timeout instead.
+ *
+ * On the grid, heartbeat latency and kills are tracked per node. A node
+ * with watchdog.quarantine.after.kills killed sessions is quarantined for
+ * watchdog.quarantine.minutes: sessions created on it are discarded and
+ * replaced, and pooled sessions on it are not reused.
+ *
+ * Thread-safe singleton pattern.
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class SessionWatchdog {
+
+    private static final Logger log = LogManager.getLogger(SessionWatchdog.class);
+
+    private static volatile SessionWatchdog instance;
+
+    private final boolean enabled;
+    private final long intervalMillis;
+    private final long heartbeatTimeoutMillis;
+    private final long commandTimeoutMillis;
+    private final int maxFailures;
+    private final int quarantineAfterKills;
+    private final long quarantineMillis;
+    private final Supplier<Map<String, String>> sessionNodeLookup;
+    private final ToLongFunction<WebDriver> commandStartLookup;
+
+    private final Map<DriverLease, SessionHealth> watched = new ConcurrentHashMap<>();
+    private final Map<String, NodeHealth> nodes = new ConcurrentHashMap<>();
+    private final ExecutorService heartbeatExecutor;
+    private ScheduledExecutorService scheduler;
+
+    SessionWatchdog(boolean enabled, long intervalMillis, long heartbeatTimeoutMillis, long commandTimeoutMillis,
+                    int maxFailures, int quarantineAfterKills, long quarantineMillis,
+                    Supplier<Map<String, String>> sessionNodeLookup,
+                    ToLongFunction<WebDriver> commandStartLookup) {
+        this.enabled = enabled;
+        this.intervalMillis = intervalMillis;
+        this.heartbeatTimeoutMillis = heartbeatTimeoutMillis;
+        this.commandTimeoutMillis = commandTimeoutMillis;
+        this.maxFailures = Math.max(1, maxFailures);
+        this.quarantineAfterKills = Math.max(1, quarantineAfterKills);
+        this.quarantineMillis = quarantineMillis;
+        this.sessionNodeLookup = sessionNodeLookup;
+        this.commandStartLookup = commandStartLookup;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.heartbeatExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "session-heartbeat-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Get the singleton instance of SessionWatchdog
+     *
+     * @return the SessionWatchdog instance
+     */
+    public static SessionWatchdog getInstance() {
+        if (instance == null) {
+            synchronized (SessionWatchdog.class) {
+                if (instance == null) {
+                    instance = fromConfig(ConfigManager.getInstance());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private static SessionWatchdog fromConfig(ConfigManager config) {
+        SessionKey key = SessionKey.forBrowser(config.getProperty("browser", "chrome"), config);
+        Supplier<Map<String, String>> lookup = Collections::emptyMap;
+        if (key.isRemote()) {
+            GridStatusClient statusClient = new GridStatusClient(key.getGridUrl());
+            lookup = () -> {
+                GridStatus status = statusClient.fetch();
+                return status != null ? status.getSessionNodes() : Collections.emptyMap();
+            };
+        }
+        long pageLoadMillis = TimeUnit.SECONDS.toMillis(config.getLong("page.load.timeout", 30));
+        long heartbeatTimeout = config.getLong("watchdog.heartbeat.timeout.ms", 15000);
+        if (!config.getBoolean("metrics.commands.enabled", true)) {
+            // Without command timing a heartbeat may queue behind a page load unnoticed
+            heartbeatTimeout = Math.max(heartbeatTimeout, pageLoadMillis);
+        }
+        return new SessionWatchdog(
+            config.getBoolean("watchdog.enabled", true),
+            config.getLong("watchdog.interval.ms", 5000),
+            heartbeatTimeout,
+            pageLoadMillis + heartbeatTimeout,
+            config.getInt("watchdog.max.failures", 2),
+            config.getInt("watchdog.quarantine.after.kills", 2),
+            TimeUnit.MINUTES.toMillis(config.getLong("watchdog.quarantine.minutes", 10)),
+            lookup,
+            driver -> CommandTimer.getInstance().commandInFlightSince(driver));
+    }
+
+    /**
+     * Start heartbeating watched sessions in the background
+     */
+    public synchronized void start() {
+        if (!enabled || scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::check, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Session watchdog started (interval: {} ms, heartbeat timeout: {} ms, command timeout: {} ms, "
+            + "max failures: {})", intervalMillis, heartbeatTimeoutMillis, commandTimeoutMillis, maxFailures);
+    }
+
+    /**
+     * Stop the watchdog (call after suite)
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        heartbeatExecutor.shutdownNow();
+    }
+
+    /**
+     * Start watching a session that was just leased
+     */
+    public void watch(DriverLease lease) {
+        if (enabled) {
+            watched.put(lease, new SessionHealth(lease));
+        }
+    }
+
+    /**
+     * Stop watching a session that is being released
+     *
+     * @return true if the watchdog killed the session while it was leased
+     */
+    public boolean unwatch(DriverLease lease) {
+        SessionHealth health = watched.remove(lease);
+        return health != null && health.killed;
+    }
+
+    /**
+     * Check whether a session runs on a quarantined grid node
+     * Only looks the node up when some node is actually quarantined
+     */
+    public boolean isOnQuarantinedNode(DriverLease lease) {
+        if (!enabled || nodes.values().stream().noneMatch(NodeHealth::isQuarantined)) {
+            return false;
+        }
+        String node = sessionNodeLookup.get().get(sessionIdOf(lease.getDriver()));
+        return node != null && nodeHealth(node).isQuarantined();
+    }
+
+    /**
+     * Run one watchdog cycle: resolve nodes, evaluate finished heartbeats,
+     * send new ones
+     */
+    void check() {
+        try {
+            if (watched.values().stream().anyMatch(health -> health.node == null)) {
+                Map<String, String> sessionNodes = sessionNodeLookup.get();
+                watched.values().forEach(health -> {
+                    if (health.node == null) {
+                        health.node = sessionNodes.get(health.sessionId);
+                    }
+                });
+            }
+            for (SessionHealth health : watched.values()) {
+                if (!health.killed) {
+                    checkSession(health);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Watchdog cycle failed: {}", e.getMessage());
+        }
+    }
+
+    private void checkSession(SessionHealth health) {
+        // A heartbeat would queue behind the test's own command, so judge the command instead
+        long commandStart = commandStartLookup.applyAsLong(health.lease.getDriver());
+        if (commandStart > 0) {
+            long runningFor = System.currentTimeMillis() - commandStart;
+            if (runningFor > commandTimeoutMillis) {
+                recordFailure(health, "command running for " + runningFor + " ms");
+            }
+            return;
+        }
+
+        Future<?> inFlight = health.inFlight;
+        if (inFlight != null && !inFlight.isDone()) {
+            long stalledFor = System.currentTimeMillis() - health.heartbeatStart;
+            if (stalledFor > heartbeatTimeoutMillis) {
+                recordFailure(health, "no heartbeat answer for " + stalledFor + " ms");
+            }
+            return;
+        }
+
+        health.heartbeatStart = System.currentTimeMillis();
+        health.inFlight = heartbeatExecutor.submit(() -> heartbeat(health));
+    }
+
+    private void heartbeat(SessionHealth health) {
+        long start = health.heartbeatStart;
+        try {
+            health.lease.getDriver().getWindowHandle();
+            long latency = System.currentTimeMillis() - start;
+            health.latency.record(latency);
+            if (health.node != null) {
+                nodeHealth(health.node).latency.record(latency);
+            }
+            if (latency > heartbeatTimeoutMillis) {
+                recordFailure(health, "heartbeat took " + latency + " ms");
+            } else {
+                health.failures.set(0);
+            }
+        } catch (Exception e) {
+            if (!health.killed) {
+                recordFailure(health, "heartbeat failed: " + e.getClass().getSimpleName());
+            }
+        }
+    }
+
+    private void recordFailure(SessionHealth health, String reason) {
+        int failures = health.failures.incrementAndGet();
+        log.warn("Session {} on {} degraded ({}/{}): {}",
+            health.sessionId, health.nodeName(), failures, maxFailures, reason);
+        if (failures >= maxFailures) {
+            kill(health, reason);
+        }
+    }
+
+    /**
+     * Quit a degraded session; the test using it fails fast and the pool evicts it on release
+     */
+    private synchronized void kill(SessionHealth health, String reason) {
+        if (health.killed) {
+            return;
+        }
+        health.killed = true;
+        log.error("Killing session {} on {} ({}), {}",
+            health.sessionId, health.nodeName(), reason, health.latency.summary());
+
+        if (health.node != null) {
+            NodeHealth node = nodeHealth(health.node);
+            if (node.kills.incrementAndGet() >= quarantineAfterKills && !node.isQuarantined()) {
+                node.quarantinedUntil = System.currentTimeMillis() + quarantineMillis;
+                node.quarantineCount.incrementAndGet();
+                log.error("Quarantining grid node {} for {} ms after {} killed sessions",
+                    health.node, quarantineMillis, node.kills.get());
+            }
+        }
+
+        // quit() can block on a stalled node as well, so never on the watchdog thread
+        try {
+            heartbeatExecutor.submit(() -> {
+                try {
+                    health.lease.getDriver().quit();
+                } catch (Exception e) {
+                    log.debug("Quit of killed session {} failed: {}", health.sessionId, e.getMessage());
+                }
+            });
+        } catch (Exception e) {
+            log.debug("Could not schedule quit for {}: {}", health.sessionId, e.getMessage());
+        }
+    }
+
+    /**
+     * Heartbeat latency, kills and quarantine state for every node seen
+     */
+    public String getReport() {
+        StringBuilder report = new StringBuilder("Session watchdog");
+        if (nodes.isEmpty()) {
+            report.append(System.lineSeparator()).append("  No grid nodes observed");
+        }
+        new TreeMap<>(nodes).forEach((name, node) -> report.append(System.lineSeparator())
+            .append(String.format("  %s: kills=%d quarantined=%d time(s)%s%n    %s", name, node.kills.get(),
+                node.quarantineCount.get(), node.isQuarantined() ? " [QUARANTINED]" : "", node.latency.summary())));
+        return report.toString();
+    }
+
+    public boolean isQuarantined(String node) {
+        NodeHealth health = nodes.get(node);
+        return health != null && health.isQuarantined();
+    }
+
+    private NodeHealth nodeHealth(String node) {
+        return nodes.computeIfAbsent(node, name -> new NodeHealth());
+    }
+
+    private static String sessionIdOf(WebDriver driver) {
+        if (driver instanceof RemoteWebDriver) {
+            SessionId sessionId = ((RemoteWebDriver) driver).getSessionId();
+            if (sessionId != null) {
+                return sessionId.toString();
+            }
+        }
+        return Integer.toHexString(System.identityHashCode(driver));
+    }
+
+    /**
+     * Heartbeat state of one leased session
+     */
+    private static class SessionHealth {
+        final DriverLease lease;
+        final String sessionId;
+        final LatencyHistogram latency;
+        final AtomicInteger failures = new AtomicInteger();
+        volatile String node;
+        volatile Future<?> inFlight;
+        volatile long heartbeatStart;
+        volatile boolean killed;
+
+        SessionHealth(DriverLease lease) {
+            this.lease = lease;
+            this.sessionId = sessionIdOf(lease.getDriver());
+            this.latency = new LatencyHistogram("heartbeat.ms[" + sessionId + "]");
+        }
+
+        String nodeName() {
+            return node != null ? node : "unknown node";
+        }
+    }
+
+    /**
+     * Heartbeat latency and kill history of one grid node
+     */
+    private static class NodeHealth {
+        final LatencyHistogram latency = new LatencyHistogram("heartbeat.ms");
+        final AtomicInteger kills = new AtomicInteger();
+        final AtomicInteger quarantineCount = new AtomicInteger();
+        volatile long quarantinedUntil;
+
+        boolean isQuarantined() {
+            return System.currentTimeMillis() < quarantinedUntil;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.ecommerce.driver;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ToLongFunction;
+
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for SessionWatchdog
+ * Sessions are WebDriver stubs, the grid node lookup is a map
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class SessionWatchdogTest {
+
+    private SessionWatchdog watchdog;
+
+    @AfterMethod
+    public void tearDown() {
+        if (watchdog != null) {
+            watchdog.stop();
+        }
+    }
+
+    @Test(description = "Test a healthy session is never killed")
+    public void testHealthySessionKept() throws InterruptedException {
+        watchdog = newWatchdog(new HashMap<>());
+        StubSession session = new StubSession(false);
+        DriverLease lease = new DriverLease(session.driver(), null);
+        watchdog.watch(lease);
+
+        runCycles(4);
+
+        assertFalse(watchdog.unwatch(lease));
+        assertFalse(session.quit.get());
+    }
+
+    @Test(description = "Test a session failing heartbeats is killed")
+    public void testFailingSessionKilled() throws InterruptedException {
+        watchdog = newWatchdog(new HashMap<>());
+        StubSession session = new StubSession(true);
+        DriverLease lease = new DriverLease(session.driver(), null);
+        watchdog.watch(lease);
+
+        runCycles(4);
+
+        assertTrue(watchdog.unwatch(lease), "Session should be reported as killed");
+        assertTrue(session.quit.get(), "Killed session should be quit");
+    }
+
+    @Test(description = "Test a node is quarantined after repeated kills")
+    public void testNodeQuarantined() throws InterruptedException {
+        Map<String, String> sessionNodes = new HashMap<>();
+        watchdog = newWatchdog(sessionNodes);
+        DriverLease first = new DriverLease(new StubSession(true).driver(), null);
+        DriverLease second = new DriverLease(new StubSession(true).driver(), null);
+        DriverLease healthy = new DriverLease(new StubSession(false).driver(), null);
+        sessionNodes.put(Integer.toHexString(System.identityHashCode(first.getDriver())), "http://node-1:5555");
+        sessionNodes.put(Integer.toHexString(System.identityHashCode(second.getDriver())), "http://node-1:5555");
+        sessionNodes.put(Integer.toHexString(System.identityHashCode(healthy.getDriver())), "http://node-1:5555");
+        watchdog.watch(first);
+        watchdog.watch(second);
+
+        runCycles(4);
+
+        assertTrue(watchdog.isQuarantined("http://node-1:5555"));
+        assertTrue(watchdog.isOnQuarantinedNode(healthy));
+        assertTrue(watchdog.getReport().contains("[QUARANTINED]"));
+    }
+
+    @Test(description = "Test no heartbeat is sent while the test's own command is running")
+    public void testBusySessionNotHeartbeated() throws InterruptedException {
+        StubSession session = new StubSession(true);
+        DriverLease lease = new DriverLease(session.driver(), null);
+        long commandStart = System.currentTimeMillis();
+        watchdog = newWatchdog(new HashMap<>(), driver -> commandStart);
+        watchdog.watch(lease);
+
+        runCycles(4);
+
+        assertFalse(watchdog.unwatch(lease), "A long page load must not get a healthy session killed");
+        assertFalse(session.heartbeated.get(), "Heartbeats would queue behind the running command");
+    }
+
+    @Test(description = "Test a command running past the command timeout kills the session")
+    public void testHungCommandKilled() throws InterruptedException {
+        StubSession session = new StubSession(false);
+        DriverLease lease = new DriverLease(session.driver(), null);
+        long commandStart = System.currentTimeMillis() - 60000;
+        watchdog = newWatchdog(new HashMap<>(), driver -> commandStart);
+        watchdog.watch(lease);
+
+        runCycles(4);
+
+        assertTrue(watchdog.unwatch(lease), "Session should be reported as killed");
+        assertTrue(session.quit.get(), "Killed session should be quit");
+    }
+
+    private SessionWatchdog newWatchdog(Map<String, String> sessionNodes) {
+        return newWatchdog(sessionNodes, driver -> 0);
+    }
+
+    private SessionWatchdog newWatchdog(Map<String, String> sessionNodes, ToLongFunction<WebDriver> commandStarts) {
+        return new SessionWatchdog(true, 10, 1000, 5000, 2, 2, 60000, () -> sessionNodes, commandStarts);
+    }
+
+    private void runCycles(int cycles) throws InterruptedException {
+        for (int i = 0; i < cycles; i++) {
+            watchdog.check();
+            Thread.sleep(50);
+        }
+    }
+
+    /**
+     * WebDriver stub whose getWindowHandle either answers or throws
+     */
+    private static class StubSession {
+        final AtomicBoolean quit = new AtomicBoolean();
+        final AtomicBoolean heartbeated = new AtomicBoolean();
+        private final boolean failing;
+
+        StubSession(boolean failing) {
+            this.failing = failing;
+        }
+
+        WebDriver driver() {
+            return (WebDriver) Proxy.newProxyInstance(WebDriver.class.getClassLoader(),
+                new Class<?>[]{WebDriver.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getWindowHandle":
+                            heartbeated.set(true);
+                            if (failing) {
+                                throw new WebDriverException("node not responding");
+                            }
+                            return "window-1";
+                        case "quit":
+                            quit.set(true);
+                            return null;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                });
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.ecommerce.driver;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A worker browser hosting several browser contexts at once
+ *
+ * A WebDriver session sends every command to its current window, so the
+ * contexts of one worker take turns: each context's driver holds the
+ * worker's lock for the duration of a command and switches the session
+ * to the context's window first if another context used it last.
+ * Commands of different contexts on the same worker therefore run one
+ * after another, commands on different workers in parallel.
+ *
+ * Session-wide settings (timeouts) are shared by the contexts, and a
+ * frame switch does not survive a command of another context.
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+class SharedWorker {
+
+    private static final Logger log = LogManager.getLogger(SharedWorker.class);
+
+    private final DriverLease session;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Window the session currently sends commands to, null if unknown; guarded by lock
+    private String currentWindow;
+
+    // Guarded by the BrowserContextManager's per-key worker list
+    int openContexts;
+    int servedContexts;
+    boolean retired;
+
+    SharedWorker(DriverLease session) {
+        this.session = session;
+    }
+
+    DriverLease getSession() {
+        return session;
+    }
+
+    /**
+     * Run work on the session with no context command in between
+     */
+    void lock() {
+        lock.lock();
+    }
+
+    void unlock() {
+        lock.unlock();
+    }
+
+    /**
+     * Record which window the session was switched to while locked, or
+     * null if that window is gone
+     */
+    void windowSwitched(String windowHandle) {
+        currentWindow = windowHandle;
+    }
+
+    /**
+     * Driver for one context, whose commands always reach the context's window
+     *
+     * @param windowHandle the context's window
+     */
+    WebDriver pin(String windowHandle) {
+        return new EventFiringDecorator<>(new WindowPin(windowHandle)).decorate(session.getDriver());
+    }
+
+    /**
+     * Serializes the commands of one context and keeps them on its window
+     */
+    private final class WindowPin implements WebDriverListener {
+
+        // The context's window, or a window the test switched to itself
+        private volatile String window;
+
+        WindowPin(String window) {
+            this.window = window;
+        }
+
+        @Override
+        public void beforeAnyCall(Object target, Method method, Object[] args) {
+            lock.lock();
+            if (window.equals(currentWindow)) {
+                return;
+            }
+            try {
+                session.getDriver().switchTo().window(window);
+                currentWindow = window;
+            } catch (Exception e) {
+                currentWindow = null;
+                log.debug("Could not switch worker to window {}: {}", window, e.getMessage());
+            }
+        }
+
+        @Override
+        public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+            try {
+                // The test switched windows itself, so follow it
+                if (target instanceof WebDriver.TargetLocator && !"alert".equals(method.getName())) {
+                    window = session.getDriver().getWindowHandle();
+                    currentWindow = window;
+                }
+            } catch (Exception e) {
+                currentWindow = null;
+            } finally {
+                done();
+            }
+        }
+
+        @Override
+        public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+            done();
+        }
+
+        private void done() {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return session + " [" + openContexts + " open context(s)]";
+    }
+}
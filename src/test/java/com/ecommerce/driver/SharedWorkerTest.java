@@ -0,0 +1,111 @@
+package com.ecommerce.driver;
+
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for SharedWorker
+ * The worker session is a WebDriver stub that tracks its current window
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class SharedWorkerTest {
+
+    @Test(description = "Test each context's commands reach its own window")
+    public void testCommandsPinnedToWindow() {
+        StubSession session = new StubSession();
+        SharedWorker worker = new SharedWorker(new DriverLease(session.driver(), null));
+        WebDriver first = worker.pin("context-1");
+        WebDriver second = worker.pin("context-2");
+
+        assertEquals(first.getTitle(), "context-1");
+        assertEquals(second.getTitle(), "context-2");
+        assertEquals(first.getTitle(), "context-1");
+        assertEquals(session.switches.get(), 3);
+    }
+
+    @Test(description = "Test consecutive commands of one context do not switch windows")
+    public void testNoSwitchWhileWindowCurrent() {
+        StubSession session = new StubSession();
+        SharedWorker worker = new SharedWorker(new DriverLease(session.driver(), null));
+        WebDriver context = worker.pin("context-1");
+
+        context.getTitle();
+        context.getTitle();
+        context.getCurrentUrl();
+
+        assertEquals(session.switches.get(), 1);
+    }
+
+    @Test(description = "Test a window the test switched to itself stays current for that context")
+    public void testFollowsTestWindowSwitch() {
+        StubSession session = new StubSession();
+        SharedWorker worker = new SharedWorker(new DriverLease(session.driver(), null));
+        WebDriver first = worker.pin("context-1");
+        WebDriver second = worker.pin("context-2");
+
+        first.switchTo().window("popup-1");
+        assertEquals(second.getTitle(), "context-2");
+
+        assertEquals(first.getTitle(), "popup-1");
+    }
+
+    @Test(description = "Test a closed context window makes the next command switch again")
+    public void testSwitchesAfterWindowGone() {
+        StubSession session = new StubSession();
+        SharedWorker worker = new SharedWorker(new DriverLease(session.driver(), null));
+        WebDriver context = worker.pin("context-1");
+        context.getTitle();
+
+        worker.lock();
+        worker.windowSwitched(null);
+        worker.unlock();
+        context.getTitle();
+
+        assertEquals(session.switches.get(), 2);
+    }
+
+    /**
+     * WebDriver stub whose title is the name of its current window
+     */
+    private static class StubSession {
+        final AtomicInteger switches = new AtomicInteger();
+        private volatile String currentWindow = "main";
+
+        WebDriver driver() {
+            WebDriver.TargetLocator targetLocator = (WebDriver.TargetLocator) Proxy.newProxyInstance(
+                SharedWorkerTest.class.getClassLoader(), new Class<?>[]{WebDriver.TargetLocator.class},
+                (proxy, method, args) -> {
+                    if ("window".equals(method.getName())) {
+                        switches.incrementAndGet();
+                        currentWindow = (String) args[0];
+                    }
+                    return null;
+                });
+            return (WebDriver) Proxy.newProxyInstance(SharedWorkerTest.class.getClassLoader(),
+                new Class<?>[]{WebDriver.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "switchTo":
+                            return targetLocator;
+                        case "getTitle":
+                        case "getWindowHandle":
+                            return currentWindow;
+                        case "getCurrentUrl":
+                            return "https://www.saucedemo.com/";
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                });
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.ecommerce.execution;
+
+import com.ecommerce.config.ConfigManager;
+import com.ecommerce.driver.DriverPool;
+import com.ecommerce.driver.SessionKey;
+import com.ecommerce.exceptions.GridCapacityException;
+import com.ecommerce.grid.GridStatus;
+import com.ecommerce.grid.GridStatusClient;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive Concurrency Limiter - Matches running tests to grid capacity
+ *
+ * Every test method holds a permit while it runs. A background poller
+ * reads the capacity (grid /status, or the session budget when running
+ * locally) and grows or shrinks the number of permits to match, so
+ * surplus test methods queue here instead of timing out inside
+ * RemoteWebDriver session creation.
+ *
+ * The limiter only throttles: TestNG's thread-count still caps how many
+ * test methods run at once, so a limit above it admits no extra tests.
+ * A test that gets no slot within concurrency.queue.timeout.ms fails,
+ * and the suite report counts how many tests starved.
+ *
+ * Thread-safe singleton pattern.
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final Logger log = LogManager.getLogger(AdaptiveConcurrencyLimiter.class);
+
+    private static volatile AdaptiveConcurrencyLimiter instance;
+
+    private final CapacityProvider capacityProvider;
+    private final ResizableSemaphore permits;
+    private final long pollIntervalMillis;
+    private final long queueTimeoutMillis;
+    private final int maxLimit;
+    private ScheduledExecutorService poller;
+    private int limit;
+
+    // Tests that never got a slot (timed out or interrupted in the queue)
+    private final AtomicInteger starvedTests = new AtomicInteger();
+
+    AdaptiveConcurrencyLimiter(CapacityProvider capacityProvider, int initialLimit, int maxLimit,
+                               long pollIntervalMillis, long queueTimeoutMillis) {
+        this.capacityProvider = capacityProvider;
+        this.maxLimit = Math.max(1, maxLimit);
+        this.limit = Math.max(1, Math.min(initialLimit, this.maxLimit));
+        this.permits = new ResizableSemaphore(limit);
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.queueTimeoutMillis = queueTimeoutMillis;
+    }
+
+    /**
+     * Get the singleton instance of AdaptiveConcurrencyLimiter
+     *
+     * @return the AdaptiveConcurrencyLimiter instance
+     */
+    public static AdaptiveConcurrencyLimiter getInstance() {
+        if (instance == null) {
+            synchronized (AdaptiveConcurrencyLimiter.class) {
+                if (instance == null) {
+                    instance = fromConfig(ConfigManager.getInstance());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private static AdaptiveConcurrencyLimiter fromConfig(ConfigManager config) {
+        int threadCount = config.getInt("thread.count", 8);
+        // No point admitting more tests than the pool may open sessions for
+        int maxLimit = Math.min(config.getInt("concurrency.max", 64),
+            config.getInt("driver.session.budget", 16));
+        long pollMillis = config.getLong("concurrency.poll.ms", 2000);
+        long queueTimeout = config.getLong("concurrency.queue.timeout.ms", 600000);
+
+        SessionKey key = SessionKey.forBrowser(config.getProperty("browser", "chrome"), config);
+
+        CapacityProvider provider;
+        if (!config.getBoolean("concurrency.adaptive", true)) {
+            provider = () -> threadCount;
+        } else if (key.isRemote()) {
+            provider = gridCapacity(new GridStatusClient(key.getGridUrl()));
+        } else {
+            // Local stub of the grid: capacity is the session budget
+            provider = () -> maxLimit;
+        }
+        return new AdaptiveConcurrencyLimiter(provider, threadCount, maxLimit, pollMillis, queueTimeout);
+    }
+
+    /**
+     * Slots this suite can use: every UP slot except those held by other clients
+     * Our own live sessions (running or pooled) count as usable capacity
+     */
+    static CapacityProvider gridCapacity(GridStatusClient client) {
+        return () -> {
+            GridStatus status = client.fetch();
+            if (status == null || !status.isReady()) {
+                return -1;
+            }
+            int ownSessions = DriverPool.getInstance().getLiveCount();
+            int foreignSessions = Math.max(0, status.getBusySlots() - ownSessions);
+            return status.getTotalSlots() - foreignSessions;
+        };
+    }
+
+    /**
+     * Start polling the capacity provider in the background
+     */
+    public synchronized void start() {
+        if (poller != null) {
+            return;
+        }
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "concurrency-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::refresh, 0, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Adaptive concurrency started (limit: {}, poll: {} ms)", limit, pollIntervalMillis);
+    }
+
+    /**
+     * Stop polling (call after suite)
+     */
+    public synchronized void stop() {
+        if (poller != null) {
+            poller.shutdownNow();
+            poller = null;
+        }
+    }
+
+    /**
+     * Wait for a free slot before starting a test method
+     * The acquired permit must be given back with release()
+     *
+     * @throws GridCapacityException if no slot frees up within concurrency.queue.timeout.ms
+     *         or the wait is interrupted; the test fails instead of running unthrottled
+     */
+    public void acquire() {
+        long start = System.currentTimeMillis();
+        try {
+            if (permits.tryAcquire(queueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            starvedTests.incrementAndGet();
+            throw GridCapacityException.interrupted(System.currentTimeMillis() - start);
+        }
+        starvedTests.incrementAndGet();
+        log.error("No free slot after {} ms (limit: {}, queued: {})", queueTimeoutMillis, getLimit(), getQueueLength());
+        throw GridCapacityException.queueTimeout(getLimit(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Give a permit back after the test method finished
+     */
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * Poll the provider once and resize the permit count
+     */
+    void refresh() {
+        try {
+            int capacity = capacityProvider.currentCapacity();
+            if (capacity >= 0) {
+                resize(capacity);
+            }
+        } catch (Exception e) {
+            log.warn("Capacity refresh failed: {}", e.getMessage());
+        }
+    }
+
+    synchronized void resize(int capacity) {
+        int newLimit = Math.max(1, Math.min(capacity, maxLimit));
+        int delta = newLimit - limit;
+        if (delta > 0) {
+            permits.release(delta);
+        } else if (delta < 0) {
+            // Running tests keep their permits; the reduction applies as they finish
+            permits.reducePermits(-delta);
+        }
+        if (delta != 0) {
+            log.info("Concurrency limit {} -> {} ({} queued)", limit, newLimit, permits.getQueueLength());
+            limit = newLimit;
+        }
+    }
+
+    /**
+     * Current limit and tests that starved in the queue, for the suite report
+     */
+    public String getMetricsSummary() {
+        return String.format("Adaptive concurrency%n  Limit: %d (max: %d), queued: %d%n"
+                + "  Tests failed without a grid slot: %d",
+            getLimit(), maxLimit, getQueueLength(), starvedTests.get());
+    }
+
+    public int getStarvedCount() {
+        return starvedTests.get();
+    }
+
+    public synchronized int getLimit() {
+        return limit;
+    }
+
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+
+    int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * Fair semaphore that exposes reducePermits so the limit can shrink
+     */
+    private static final class ResizableSemaphore extends Semaphore {
+
+        ResizableSemaphore(int permits) {
+            super(permits, true);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
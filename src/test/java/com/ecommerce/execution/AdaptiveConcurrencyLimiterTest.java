@@ -0,0 +1,85 @@
+package com.ecommerce.execution;
+
+import com.ecommerce.exceptions.GridCapacityException;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for AdaptiveConcurrencyLimiter
+ * Capacity comes from a stub provider, so no grid is needed
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class AdaptiveConcurrencyLimiterTest {
+
+    @Test(description = "Test permits grow when the provider reports more capacity")
+    public void testLimitGrows() {
+        AtomicInteger capacity = new AtomicInteger(2);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(capacity::get, 2, 64, 1000, 50);
+
+        capacity.set(5);
+        limiter.refresh();
+
+        assertEquals(limiter.getLimit(), 5);
+        assertEquals(limiter.getAvailablePermits(), 5);
+    }
+
+    @Test(description = "Test shrinking below running tests takes effect as permits are released")
+    public void testLimitShrinksWhileBusy() {
+        AtomicInteger capacity = new AtomicInteger(3);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(capacity::get, 3, 64, 1000, 50);
+        limiter.acquire();
+        limiter.acquire();
+        limiter.acquire();
+
+        capacity.set(1);
+        limiter.refresh();
+        assertEquals(limiter.getLimit(), 1);
+        assertThrows(GridCapacityException.class, limiter::acquire);
+
+        limiter.release();
+        limiter.release();
+        assertEquals(limiter.getAvailablePermits(), 0);
+        limiter.release();
+        assertEquals(limiter.getAvailablePermits(), 1);
+    }
+
+    @Test(description = "Test unknown capacity keeps the current limit")
+    public void testUnknownCapacityIgnored() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(() -> -1, 4, 64, 1000, 50);
+
+        limiter.refresh();
+
+        assertEquals(limiter.getLimit(), 4);
+    }
+
+    @Test(description = "Test limit is clamped between one and concurrency.max")
+    public void testLimitClamped() {
+        AtomicInteger capacity = new AtomicInteger(0);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(capacity::get, 2, 10, 1000, 50);
+
+        limiter.refresh();
+        assertEquals(limiter.getLimit(), 1, "A saturated grid still lets one test through");
+
+        capacity.set(100);
+        limiter.refresh();
+        assertEquals(limiter.getLimit(), 10);
+    }
+
+    @Test(description = "Test a test that times out in the queue fails and is reported, not run unthrottled")
+    public void testQueueTimeoutFails() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(() -> 1, 1, 64, 1000, 50);
+        limiter.acquire();
+
+        GridCapacityException e = expectThrows(GridCapacityException.class, limiter::acquire);
+
+        assertTrue(e.getMessage().contains("concurrency.queue.timeout.ms"), e.getMessage());
+        assertEquals(limiter.getAvailablePermits(), 0, "A timed-out wait must not hold a permit");
+        assertEquals(limiter.getStarvedCount(), 1);
+        assertTrue(limiter.getMetricsSummary().contains("Tests failed without a grid slot: 1"));
+    }
+}
@@ -0,0 +1,19 @@
+package com.ecommerce.execution;
+
+/**
+ * Source of the number of test methods that may run concurrently
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+@FunctionalInterface
+public interface CapacityProvider {
+
+    /**
+     * Get the current capacity
+     *
+     * @return number of concurrent sessions available to this suite,
+     *         or a negative value if capacity is currently unknown
+     */
+    int currentCapacity();
+}
@@ -0,0 +1,78 @@
+package com.ecommerce.grid;
+
+import com.ecommerce.metrics.LatencyHistogram;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpHandler;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * HTTP filter that records the round-trip time of every WebDriver
+ * command sent to the grid, grouped by command endpoint
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class CommandLatencyFilter implements Filter {
+
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+
+    @Override
+    public HttpHandler apply(HttpHandler next) {
+        return request -> {
+            long start = System.nanoTime();
+            try {
+                return next.execute(request);
+            } finally {
+                long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+                latencies.computeIfAbsent(commandName(request.getMethod().name(), request.getUri()),
+                    LatencyHistogram::new).record(elapsedMillis);
+            }
+        };
+    }
+
+    /**
+     * One line per command endpoint, sorted by name
+     */
+    public String summary() {
+        StringBuilder summary = new StringBuilder("Grid command latency (ms)");
+        new TreeMap<>(latencies).values()
+            .forEach(histogram -> summary.append(System.lineSeparator()).append("  ").append(histogram.summary()));
+        return summary.toString();
+    }
+
+    public Map<String, LatencyHistogram> getLatencies() {
+        return latencies;
+    }
+
+    /**
+     * Collapse session and element ids so all calls of one command share a histogram
+     * e.g. POST /wd/hub/session/1a2b/element/3c4d/click -> POST /session/{id}/element/{id}/click
+     */
+    static String commandName(String method, String uri) {
+        String path = uri;
+        int query = path.indexOf('?');
+        if (query >= 0) {
+            path = path.substring(0, query);
+        }
+        int sessionStart = path.indexOf("/session");
+        if (sessionStart > 0) {
+            path = path.substring(sessionStart);
+        }
+
+        String[] segments = path.split("/");
+        StringBuilder name = new StringBuilder(method).append(" /");
+        for (int i = 1; i < segments.length; i++) {
+            String previous = segments[i - 1];
+            boolean isId = ("session".equals(previous) || "element".equals(previous) || "shadow".equals(previous))
+                && !"active".equals(segments[i]);
+            if (i > 1) {
+                name.append('/');
+            }
+            name.append(isId ? "{id}" : segments[i]);
+        }
+        return name.toString();
+    }
+}
@@ -0,0 +1,46 @@
+package com.ecommerce.grid;
+
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for CommandLatencyFilter
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class CommandLatencyFilterTest {
+
+    @Test(description = "Test session and element ids are collapsed")
+    public void testCommandNameCollapsesIds() {
+        assertEquals(CommandLatencyFilter.commandName("POST", "/wd/hub/session/1a2b/element/3c4d/click"),
+            "POST /session/{id}/element/{id}/click");
+        assertEquals(CommandLatencyFilter.commandName("POST", "/session/1a2b/element"),
+            "POST /session/{id}/element");
+        assertEquals(CommandLatencyFilter.commandName("GET", "/session/1a2b/element/active"),
+            "GET /session/{id}/element/active");
+    }
+
+    @Test(description = "Test new session and status requests keep their path")
+    public void testCommandNameWithoutIds() {
+        assertEquals(CommandLatencyFilter.commandName("POST", "/wd/hub/session"), "POST /session");
+        assertEquals(CommandLatencyFilter.commandName("GET", "/status?verbose=true"), "GET /status");
+    }
+
+    @Test(description = "Test every request through the filter is recorded")
+    public void testFilterRecordsLatency() {
+        CommandLatencyFilter filter = new CommandLatencyFilter();
+        HttpHandler handler = filter.andFinally(request -> new HttpResponse());
+
+        handler.execute(new HttpRequest(HttpMethod.GET, "/session/a/title"));
+        handler.execute(new HttpRequest(HttpMethod.GET, "/session/b/title"));
+
+        assertEquals(filter.getLatencies().size(), 1);
+        assertEquals(filter.getLatencies().get("GET /session/{id}/title").getCount(), 2);
+    }
+}
@@ -0,0 +1,182 @@
+package com.ecommerce.grid;
+
+import com.ecommerce.config.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Grid HTTP Client Factory - One shared HTTP client for all grid sessions
+ *
+ * By default every RemoteWebDriver opens its own HTTP client, with its
+ * own connection pool and worker threads, and closes it on quit. This
+ * factory hands every session for the same hub a view of one shared
+ * client instead, so keep-alive connections to the hub are reused across
+ * sessions and commands, and tuned timeouts apply to all of them.
+ * Every command's round-trip time is recorded by CommandLatencyFilter.
+ *
+ * The java.net.http pool size and keep-alive are JVM-wide and read once,
+ * when the JDK client first initializes, so they are passed on the
+ * surefire command line (grid.http.pool.size, grid.http.keepalive.seconds
+ * in pom.xml) rather than set here.
+ *
+ * Thread-safe singleton pattern.
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class GridHttpClientFactory implements HttpClient.Factory {
+
+    private static final Logger log = LogManager.getLogger(GridHttpClientFactory.class);
+
+    private static volatile GridHttpClientFactory instance;
+
+    private final HttpClient.Factory delegate;
+    private final Duration connectTimeout;
+    private final Duration readTimeout;
+    private final CommandLatencyFilter latencyFilter = new CommandLatencyFilter();
+    private final Map<ClientKey, HttpClient> clients = new ConcurrentHashMap<>();
+
+    private GridHttpClientFactory() {
+        ConfigManager config = ConfigManager.getInstance();
+        this.delegate = HttpClient.Factory.createDefault();
+        this.connectTimeout = Duration.ofMillis(config.getLong("grid.http.connect.timeout.ms", 10000));
+        this.readTimeout = Duration.ofMillis(config.getLong("grid.http.read.timeout.ms", 180000));
+
+        log.info("Grid HTTP client configured (connect: {}, read: {}, pool: {}, keep-alive: {}s)",
+            connectTimeout, readTimeout, System.getProperty("jdk.httpclient.connectionPoolSize"),
+            System.getProperty("jdk.httpclient.keepalive.timeout"));
+    }
+
+    /**
+     * Get the singleton instance of GridHttpClientFactory
+     *
+     * @return the GridHttpClientFactory instance
+     */
+    public static GridHttpClientFactory getInstance() {
+        if (instance == null) {
+            synchronized (GridHttpClientFactory.class) {
+                if (instance == null) {
+                    instance = new GridHttpClientFactory();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Client configuration for sessions on the given hub
+     *
+     * @param gridUrl hub URL, e.g. http://hub:4444/wd/hub
+     * @return config with tuned timeouts and latency recording
+     */
+    public ClientConfig clientConfig(String gridUrl) {
+        return ClientConfig.defaultConfig()
+            .baseUri(URI.create(gridUrl))
+            .connectionTimeout(connectTimeout)
+            .readTimeout(readTimeout)
+            .withFilter(latencyFilter);
+    }
+
+    /**
+     * Return the shared client for the config's hub and timeouts
+     * Callers asking for other timeouts get a client of their own, not one
+     * that silently ignores their config. Filters are not compared, so
+     * configs should come from clientConfig()
+     * Closing the returned client (as RemoteWebDriver does on quit) is a no-op
+     */
+    @Override
+    public HttpClient createClient(ClientConfig config) {
+        HttpClient shared = clients.computeIfAbsent(new ClientKey(config), key -> {
+            log.info("Opening shared HTTP client for {}", key);
+            return delegate.createClient(config);
+        });
+        return new SharedClientView(shared);
+    }
+
+    /**
+     * Close the shared clients (call after suite, once all sessions have quit)
+     */
+    public void shutdown() {
+        clients.values().forEach(HttpClient::close);
+        clients.clear();
+    }
+
+    public String getMetricsSummary() {
+        return latencyFilter.summary();
+    }
+
+    /**
+     * The parts of a ClientConfig that decide whether two callers can share a client
+     */
+    private static final class ClientKey {
+
+        private final URI baseUri;
+        private final Duration connectTimeout;
+        private final Duration readTimeout;
+
+        ClientKey(ClientConfig config) {
+            this.baseUri = config.baseUri();
+            this.connectTimeout = config.connectionTimeout();
+            this.readTimeout = config.readTimeout();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ClientKey)) return false;
+            ClientKey other = (ClientKey) o;
+            return baseUri.equals(other.baseUri)
+                && connectTimeout.equals(other.connectTimeout)
+                && readTimeout.equals(other.readTimeout);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(baseUri, connectTimeout, readTimeout);
+        }
+
+        @Override
+        public String toString() {
+            return baseUri + " (connect: " + connectTimeout + ", read: " + readTimeout + ")";
+        }
+    }
+
+    /**
+     * Per-session handle on the shared client
+     */
+    private static final class SharedClientView implements HttpClient {
+
+        private final HttpClient shared;
+
+        SharedClientView(HttpClient shared) {
+            this.shared = shared;
+        }
+
+        @Override
+        public HttpResponse execute(HttpRequest request) throws UncheckedIOException {
+            return shared.execute(request);
+        }
+
+        @Override
+        public WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+            return shared.openSocket(request, listener);
+        }
+
+        @Override
+        public void close() {
+            // The shared client outlives individual sessions
+        }
+    }
+}
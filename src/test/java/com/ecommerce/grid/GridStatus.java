@@ -0,0 +1,99 @@
+package com.ecommerce.grid;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parsed view of a Selenium Grid 4 /status response
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public final class GridStatus {
+
+    private final boolean ready;
+    private final int totalSlots;
+    private final int freeSlots;
+    private final Map<String, String> sessionNodes;
+
+    GridStatus(boolean ready, int totalSlots, int freeSlots, Map<String, String> sessionNodes) {
+        this.ready = ready;
+        this.totalSlots = totalSlots;
+        this.freeSlots = freeSlots;
+        this.sessionNodes = Collections.unmodifiableMap(sessionNodes);
+    }
+
+    /**
+     * Parse the JSON body of GET /status
+     * Only slots on nodes with availability UP count as capacity
+     *
+     * @param json response body
+     * @return the parsed status
+     */
+    public static GridStatus parse(String json) {
+        JSONObject value = new JSONObject(json).getJSONObject("value");
+        boolean ready = value.optBoolean("ready", false);
+        int total = 0;
+        int free = 0;
+        Map<String, String> sessionNodes = new HashMap<>();
+
+        JSONArray nodes = value.optJSONArray("nodes");
+        if (nodes != null) {
+            for (int i = 0; i < nodes.length(); i++) {
+                JSONObject node = nodes.getJSONObject(i);
+                String nodeUri = node.optString("uri", node.optString("id", "unknown"));
+                boolean up = "UP".equalsIgnoreCase(node.optString("availability", "UP"));
+                JSONArray slots = node.optJSONArray("slots");
+                if (slots == null) {
+                    continue;
+                }
+                for (int j = 0; j < slots.length(); j++) {
+                    JSONObject session = slots.getJSONObject(j).optJSONObject("session");
+                    if (session != null) {
+                        sessionNodes.put(session.optString("sessionId"), nodeUri);
+                    }
+                    if (up) {
+                        total++;
+                        if (session == null) {
+                            free++;
+                        }
+                    }
+                }
+            }
+        }
+
+        return new GridStatus(ready, total, free, sessionNodes);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int getTotalSlots() {
+        return totalSlots;
+    }
+
+    public int getFreeSlots() {
+        return freeSlots;
+    }
+
+    public int getBusySlots() {
+        return totalSlots - freeSlots;
+    }
+
+    /**
+     * @return node URI for each running session id
+     */
+    public Map<String, String> getSessionNodes() {
+        return sessionNodes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GridStatus{ready=%s, slots=%d, free=%d}", ready, totalSlots, freeSlots);
+    }
+}
@@ -0,0 +1,73 @@
+package com.ecommerce.grid;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Reads capacity from the Selenium Grid /status endpoint
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class GridStatusClient {
+
+    private static final Logger log = LogManager.getLogger(GridStatusClient.class);
+
+    private final URI statusUri;
+    private final HttpClient httpClient;
+
+    /**
+     * @param gridUrl hub URL as configured for RemoteWebDriver, e.g. http://hub:4444/wd/hub
+     */
+    public GridStatusClient(String gridUrl) {
+        this.statusUri = statusUriFor(gridUrl);
+        this.httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    }
+
+    /**
+     * Fetch the current grid status
+     *
+     * @return the status, or null if the hub could not be reached
+     */
+    public GridStatus fetch() {
+        HttpRequest request = HttpRequest.newBuilder(statusUri)
+            .timeout(Duration.ofSeconds(5))
+            .GET()
+            .build();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                log.warn("Grid status returned HTTP {}", response.statusCode());
+                return null;
+            }
+            return GridStatus.parse(response.body());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not read grid status from {}: {}", statusUri, e.getMessage());
+            return null;
+        }
+    }
+
+    public URI getStatusUri() {
+        return statusUri;
+    }
+
+    /**
+     * The status endpoint lives at the hub root, not under /wd/hub
+     */
+    static URI statusUriFor(String gridUrl) {
+        URI uri = URI.create(gridUrl);
+        return URI.create(uri.getScheme() + "://" + uri.getAuthority() + "/status");
+    }
+}
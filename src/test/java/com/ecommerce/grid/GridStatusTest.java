@@ -0,0 +1,45 @@
+package com.ecommerce.grid;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for GridStatus parsing
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class GridStatusTest {
+
+    private static final String STATUS_JSON = "{\"value\": {\"ready\": true, \"nodes\": ["
+        + "{\"uri\": \"http://node-1:5555\", \"availability\": \"UP\", \"slots\": ["
+        + "  {\"session\": {\"sessionId\": \"abc\"}}, {\"session\": null}, {}]},"
+        + "{\"uri\": \"http://node-2:5555\", \"availability\": \"DRAINING\", \"slots\": ["
+        + "  {\"session\": {\"sessionId\": \"def\"}}, {}]}"
+        + "]}}";
+
+    @Test(description = "Test only UP node slots count as capacity")
+    public void testParseCountsUpSlots() {
+        GridStatus status = GridStatus.parse(STATUS_JSON);
+
+        assertTrue(status.isReady());
+        assertEquals(status.getTotalSlots(), 3);
+        assertEquals(status.getFreeSlots(), 2);
+        assertEquals(status.getBusySlots(), 1);
+    }
+
+    @Test(description = "Test sessions are mapped to their node")
+    public void testParseSessionNodes() {
+        GridStatus status = GridStatus.parse(STATUS_JSON);
+
+        assertEquals(status.getSessionNodes().get("abc"), "http://node-1:5555");
+        assertEquals(status.getSessionNodes().get("def"), "http://node-2:5555");
+    }
+
+    @Test(description = "Test status URI is derived from the hub URL")
+    public void testStatusUri() {
+        assertEquals(GridStatusClient.statusUriFor("http://hub:4444/wd/hub").toString(),
+            "http://hub:4444/status");
+    }
+}
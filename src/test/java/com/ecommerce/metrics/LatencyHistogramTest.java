@@ -0,0 +1,104 @@
+package com.ecommerce.metrics;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for LatencyHistogram
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class LatencyHistogramTest {
+
+    @Test(description = "Test empty histogram reports zeros")
+    public void testEmptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram("empty");
+
+        assertEquals(histogram.getCount(), 0);
+        assertEquals(histogram.getPercentile(50), 0);
+        assertEquals(histogram.getMax(), 0);
+        assertEquals(histogram.getMean(), 0.0);
+    }
+
+    @Test(description = "Test small values are recorded exactly")
+    public void testSmallValuesExact() {
+        LatencyHistogram histogram = new LatencyHistogram("small");
+        for (int i = 1; i <= 4; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(histogram.getPercentile(50), 2, "p50 of 1..4 should be 2");
+        assertEquals(histogram.getPercentile(100), 4, "p100 should be the max");
+        assertEquals(histogram.getMin(), 1);
+        assertEquals(histogram.getMean(), 2.5, 0.001);
+    }
+
+    @Test(description = "Test percentiles stay within bucket precision")
+    public void testPercentilePrecision() {
+        LatencyHistogram histogram = new LatencyHistogram("precision");
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+
+        assertWithinPrecision(histogram.getPercentile(50), 500);
+        assertWithinPrecision(histogram.getPercentile(95), 950);
+        assertWithinPrecision(histogram.getPercentile(99), 990);
+        assertEquals(histogram.getPercentile(100), 1000, "p100 should be capped at max");
+    }
+
+    @Test(description = "Test negative values are clamped to zero")
+    public void testNegativeValueClamped() {
+        LatencyHistogram histogram = new LatencyHistogram("negative");
+        histogram.record(-5);
+
+        assertEquals(histogram.getMin(), 0);
+        assertEquals(histogram.getMax(), 0);
+    }
+
+    @Test(description = "Test large values do not overflow buckets")
+    public void testLargeValues() {
+        LatencyHistogram histogram = new LatencyHistogram("large");
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(histogram.getPercentile(99), Long.MAX_VALUE);
+    }
+
+    @Test(description = "Test concurrent recording keeps an exact count")
+    public void testConcurrentRecording() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram("concurrent");
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    histogram.record(i);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(histogram.getCount(), 8000);
+        assertEquals(histogram.getSum(), 8L * (999 * 1000 / 2));
+    }
+
+    @Test(description = "Test summary contains the histogram name")
+    public void testSummary() {
+        LatencyHistogram histogram = new LatencyHistogram("lease.wait");
+        histogram.record(10);
+
+        assertTrue(histogram.summary().startsWith("lease.wait:"), "Summary should start with name");
+    }
+
+    private void assertWithinPrecision(long actual, long expected) {
+        assertTrue(actual >= expected && actual <= expected * 1.125,
+            "Expected ~" + expected + " but was " + actual);
+    }
+}
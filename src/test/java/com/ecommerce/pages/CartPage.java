@@ -1,12 +1,16 @@
 package com.ecommerce.pages;
 
 import com.ecommerce.pages.base.BasePage;
+import com.ecommerce.pages.base.ElementQuery;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -21,30 +25,34 @@ public class CartPage extends BasePage {
     // ==================== LOCATORS ====================
     
     @FindBy(css = ".cart_list")
-    private WebElement cartList;
+    private final WebElement cartList;
     
     @FindBy(css = ".cart_item")
-    private List<WebElement> cartItems;
+    private final List<WebElement> cartItems;
     
-    @FindBy(css = ".cart_item .inventory_item_name")
-    private List<WebElement> cartItemNames;
+    private static final By CART_ITEM_NAMES = By.cssSelector(".cart_item .inventory_item_name");
     
-    @FindBy(css = ".cart_item .inventory_item_price")
-    private List<WebElement> cartItemPrices;
+    private static final By CART_ITEM_PRICES = By.cssSelector(".cart_item .inventory_item_price");
     
     @FindBy(id = "checkout")
-    private WebElement checkoutButton;
+    private final WebElement checkoutButton;
     
     @FindBy(id = "continue-shopping")
-    private WebElement continueShoppingButton;
+    private final WebElement continueShoppingButton;
     
     @FindBy(css = ".title")
-    private WebElement pageTitle;
+    private final WebElement pageTitle;
     
     // ==================== CONSTRUCTOR ====================
     
     public CartPage(WebDriver driver) {
         super(driver);
+        CartPage_Bindings elements = CartPage_Bindings.bind(elementCache);
+        cartList = elements.cartList;
+        cartItems = elements.cartItems;
+        checkoutButton = elements.checkoutButton;
+        continueShoppingButton = elements.continueShoppingButton;
+        pageTitle = elements.pageTitle;
         log.info("CartPage initialized");
     }
     
@@ -53,19 +61,37 @@ public class CartPage extends BasePage {
     public void removeProduct(String productName) {
         String buttonId = "remove-" + productName.toLowerCase()
             .replace(" ", "-");
-        WebElement removeButton = driver.findElement(By.id(buttonId));
+        WebElement removeButton = element(By.id(buttonId));
         click(removeButton);
         log.info("Removed product from cart: {}", productName);
     }
     
+    /**
+     * Remove several products with a single script execution, then wait
+     * once for the cart to list only the rest
+     * 
+     * @param productNames products currently in the cart
+     */
+    public void removeProducts(Collection<String> productNames) {
+        Set<String> buttonIds = productNames.stream()
+            .map(name -> "remove-" + name.toLowerCase().replace(" ", "-"))
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        int expected = getCartItemCount() - buttonIds.size();
+        clickAllById(buttonIds);
+        waits.until(driver, d -> getCartItemCount() == expected, "cart.items");
+        log.info("Removed {} products from cart: {}", buttonIds.size(), productNames);
+    }
+    
     public CheckoutPage proceedToCheckout() {
         click(checkoutButton);
+        waitForPageReady("checkout-step-one");
         log.info("Proceeded to checkout");
         return new CheckoutPage(driver);
     }
     
     public HomePage continueShopping() {
         click(continueShoppingButton);
+        waitForPageReady("inventory");
         log.info("Continued shopping");
         return new HomePage(driver);
     }
@@ -77,14 +103,12 @@ public class CartPage extends BasePage {
     }
     
     public List<String> getCartItemNames() {
-        return cartItemNames.stream()
-            .map(WebElement::getText)
-            .collect(Collectors.toList());
+        return read(new ElementQuery().allText("names", CART_ITEM_NAMES)).getStrings("names");
     }
     
     public double getCartTotal() {
-        return cartItemPrices.stream()
-            .map(el -> el.getText().replace("$", ""))
+        return read(new ElementQuery().allText("prices", CART_ITEM_PRICES)).getStrings("prices").stream()
+            .map(price -> price.replace("$", ""))
             .mapToDouble(Double::parseDouble)
             .sum();
     }
@@ -1,10 +1,16 @@
 package com.ecommerce.pages;
 
 import com.ecommerce.pages.base.BasePage;
+import com.ecommerce.pages.base.ElementQuery;
+import com.ecommerce.pages.base.ElementQueryResult;
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Checkout Page Object
  * Handles checkout form and process
@@ -17,33 +23,42 @@ public class CheckoutPage extends BasePage {
     // ==================== LOCATORS ====================
     
     @FindBy(id = "first-name")
-    private WebElement firstNameField;
+    private final WebElement firstNameField;
     
     @FindBy(id = "last-name")
-    private WebElement lastNameField;
+    private final WebElement lastNameField;
     
     @FindBy(id = "postal-code")
-    private WebElement zipCodeField;
+    private final WebElement zipCodeField;
     
     @FindBy(id = "continue")
-    private WebElement continueButton;
+    private final WebElement continueButton;
     
     @FindBy(id = "cancel")
-    private WebElement cancelButton;
+    private final WebElement cancelButton;
     
     @FindBy(css = "[data-test='error']")
-    private WebElement errorMessage;
+    private final WebElement errorMessage;
     
     @FindBy(css = ".title")
-    private WebElement pageTitle;
+    private final WebElement pageTitle;
     
     @FindBy(css = ".checkout_info")
-    private WebElement checkoutInfo;
+    private final WebElement checkoutInfo;
     
     // ==================== CONSTRUCTOR ====================
     
     public CheckoutPage(WebDriver driver) {
         super(driver);
+        CheckoutPage_Bindings elements = CheckoutPage_Bindings.bind(elementCache);
+        firstNameField = elements.firstNameField;
+        lastNameField = elements.lastNameField;
+        zipCodeField = elements.zipCodeField;
+        continueButton = elements.continueButton;
+        cancelButton = elements.cancelButton;
+        errorMessage = elements.errorMessage;
+        pageTitle = elements.pageTitle;
+        checkoutInfo = elements.checkoutInfo;
         log.info("CheckoutPage initialized");
     }
     
@@ -67,10 +82,16 @@ public class CheckoutPage extends BasePage {
         return this;
     }
     
+    /**
+     * Fill the whole form in one script; use the enter* methods to type key by key
+     */
     public CheckoutPage fillCheckoutInfo(String firstName, String lastName, String zipCode) {
-        enterFirstName(firstName);
-        enterLastName(lastName);
-        enterZipCode(zipCode);
+        Map<WebElement, String> form = new LinkedHashMap<>();
+        form.put(firstNameField, firstName);
+        form.put(lastNameField, lastName);
+        form.put(zipCodeField, zipCode);
+        fillForm(form);
+        log.info("Filled checkout info: {} {}, {}", firstName, lastName, zipCode);
         return this;
     }
     
@@ -88,11 +109,17 @@ public class CheckoutPage extends BasePage {
     // ==================== VALIDATIONS ====================
     
     public boolean isFormValid() {
-        String firstName = firstNameField.getAttribute("value");
-        String lastName = lastNameField.getAttribute("value");
-        String zipCode = zipCodeField.getAttribute("value");
+        ElementQueryResult form = read(new ElementQuery()
+            .value("firstName", By.id("first-name"))
+            .value("lastName", By.id("last-name"))
+            .value("zipCode", By.id("postal-code")));
         
-        return !firstName.isEmpty() && !lastName.isEmpty() && !zipCode.isEmpty();
+        return isFilled(form.getString("firstName")) && isFilled(form.getString("lastName"))
+            && isFilled(form.getString("zipCode"));
+    }
+    
+    private static boolean isFilled(String value) {
+        return value != null && !value.isEmpty();
     }
     
     public boolean isErrorDisplayed() {
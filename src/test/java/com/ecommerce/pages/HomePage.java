@@ -2,12 +2,17 @@ package com.ecommerce.pages;
 
 import com.ecommerce.pages.base.BasePage;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -22,47 +27,80 @@ public class HomePage extends BasePage {
     // ==================== LOCATORS ====================
     
     @FindBy(css = ".inventory_list")
-    private WebElement inventoryList;
+    private final WebElement inventoryList;
     
     @FindBy(css = ".inventory_item")
-    private List<WebElement> inventoryItems;
+    private final List<WebElement> inventoryItems;
     
     @FindBy(css = ".shopping_cart_link")
-    private WebElement cartLink;
+    private final WebElement cartLink;
     
     @FindBy(css = ".shopping_cart_badge")
-    private WebElement cartBadge;
+    private final WebElement cartBadge;
     
     @FindBy(id = "react-burger-menu-btn")
-    private WebElement menuButton;
+    private final WebElement menuButton;
     
     @FindBy(id = "logout_sidebar_link")
-    private WebElement logoutLink;
+    private final WebElement logoutLink;
     
     @FindBy(css = ".product_sort_container")
-    private WebElement sortDropdown;
-    
-    @FindBy(css = ".inventory_item_name")
-    private List<WebElement> productNames;
-    
-    @FindBy(css = ".inventory_item_price")
-    private List<WebElement> productPrices;
+    private final WebElement sortDropdown;
     
     @FindBy(css = ".title")
-    private WebElement pageTitle;
+    private final WebElement pageTitle;
+    
+    // Reads every product tile in one round-trip; innerText matches WebElement.getText()
+    private static final String SNAPSHOT_SCRIPT =
+        "return Array.from(document.querySelectorAll('.inventory_item')).map(function (item, i) {" +
+        "  var text = function (selector) {" +
+        "    var el = item.querySelector(selector);" +
+        "    return el ? el.innerText.trim() : '';" +
+        "  };" +
+        "  var button = item.querySelector('button');" +
+        "  return {index: i, name: text('.inventory_item_name'), price: text('.inventory_item_price')," +
+        "          description: text('.inventory_item_desc')," +
+        "          buttonId: button ? button.id : '', buttonText: button ? button.innerText.trim() : ''};" +
+        "});";
+    
+    // Walks the tiles once, comparing neighbours; names compare by code unit
+    // like String.compareTo, prices numerically once parsed in the page
+    private static final String SORT_CHECK_SCRIPT =
+        "var byPrice = arguments[0] === 'price', descending = arguments[1];" +
+        "var items = document.querySelectorAll('.inventory_item');" +
+        "var previous = null;" +
+        "for (var i = 0; i < items.length; i++) {" +
+        "  var text = items[i].querySelector(byPrice ? '.inventory_item_price' : '.inventory_item_name')" +
+        "    .innerText.trim();" +
+        "  var value = byPrice ? parseFloat(text.replace(/[^0-9.\\-]/g, '')) : text;" +
+        "  var broken = byPrice && isNaN(value);" +
+        "  if (!broken && previous !== null) {" +
+        "    broken = descending ? previous.value < value : previous.value > value;" +
+        "  }" +
+        "  if (broken) {" +
+        "    return {sorted: false, count: items.length, index: Math.max(i - 1, 0)," +
+        "            first: previous ? previous.text : null, second: text};" +
+        "  }" +
+        "  previous = {text: text, value: value};" +
+        "}" +
+        "return {sorted: true, count: items.length};";
     
     // ==================== SORT OPTIONS ====================
     
     public enum SortOption {
-        NAME_A_TO_Z("az"),
-        NAME_Z_TO_A("za"),
-        PRICE_LOW_TO_HIGH("lohi"),
-        PRICE_HIGH_TO_LOW("hilo");
+        NAME_A_TO_Z("az", "name", false),
+        NAME_Z_TO_A("za", "name", true),
+        PRICE_LOW_TO_HIGH("lohi", "price", false),
+        PRICE_HIGH_TO_LOW("hilo", "price", true);
         
         private final String value;
+        private final String sortKey;
+        private final boolean descending;
         
-        SortOption(String value) {
+        SortOption(String value, String sortKey, boolean descending) {
             this.value = value;
+            this.sortKey = sortKey;
+            this.descending = descending;
         }
         
         public String getValue() {
@@ -74,15 +112,24 @@ public class HomePage extends BasePage {
     
     public HomePage(WebDriver driver) {
         super(driver);
+        HomePage_Bindings elements = HomePage_Bindings.bind(elementCache);
+        inventoryList = elements.inventoryList;
+        inventoryItems = elements.inventoryItems;
+        cartLink = elements.cartLink;
+        cartBadge = elements.cartBadge;
+        menuButton = elements.menuButton;
+        logoutLink = elements.logoutLink;
+        sortDropdown = elements.sortDropdown;
+        pageTitle = elements.pageTitle;
         log.info("HomePage initialized");
     }
     
     // ==================== PRODUCT ACTIONS ====================
     
     public void addProductToCart(String productName) {
-        String buttonId = "add-to-cart-" + productName.toLowerCase()
-            .replace(" ", "-");
-        WebElement addButton = driver.findElement(By.id(buttonId));
+        String buttonId = buttonId("add-to-cart-", productName);
+        // Not cached: the same node turns into the remove button once clicked
+        WebElement addButton = getElement(By.id(buttonId));
         click(addButton);
         log.info("Added product to cart: {}", productName);
     }
@@ -96,22 +143,37 @@ public class HomePage extends BasePage {
         }
     }
     
+    /**
+     * Add several products with a single script execution, then wait once
+     * for the cart badge to show them all
+     * 
+     * @param productNames products that are not in the cart yet
+     */
+    public void addProductsToCart(Collection<String> productNames) {
+        Set<String> buttonIds = productNames.stream()
+            .map(name -> buttonId("add-to-cart-", name))
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        int expected = getCartItemCount() + buttonIds.size();
+        clickAllById(buttonIds);
+        waits.until(driver, d -> getCartItemCount() == expected, "cart.badge");
+        log.info("Added {} products to cart: {}", buttonIds.size(), productNames);
+    }
+    
     public void removeProductFromCart(String productName) {
-        String buttonId = "remove-" + productName.toLowerCase()
-            .replace(" ", "-");
-        WebElement removeButton = driver.findElement(By.id(buttonId));
+        String buttonId = buttonId("remove-", productName);
+        // Not cached: the same node turns back into the add button once clicked
+        WebElement removeButton = getElement(By.id(buttonId));
         click(removeButton);
         log.info("Removed product from cart: {}", productName);
     }
     
     public boolean isProductInCart(String productName) {
-        String buttonId = "remove-" + productName.toLowerCase()
-            .replace(" ", "-");
-        try {
-            return driver.findElement(By.id(buttonId)).isDisplayed();
-        } catch (Exception e) {
-            return false;
-        }
+        String buttonId = buttonId("remove-", productName);
+        return isDisplayed(By.id(buttonId));
+    }
+    
+    private static String buttonId(String prefix, String productName) {
+        return prefix + productName.toLowerCase().replace(" ", "-");
     }
     
     // ==================== SORTING ====================
@@ -121,22 +183,48 @@ public class HomePage extends BasePage {
         log.info("Sorted products by: {}", option);
     }
     
+    /**
+     * Check the displayed order against a sort option in a single script
+     * execution; nothing but the verdict and the first violating pair
+     * comes back
+     */
+    public SortVerification verifySortOrder(SortOption option) {
+        Map<?, ?> result = (Map<?, ?>) ((JavascriptExecutor) driver).executeScript(SORT_CHECK_SCRIPT,
+            option.sortKey, option.descending);
+        SortVerification verification = SortVerification.fromScriptResult(option, result);
+        log.info("Sort check {}", verification);
+        return verification;
+    }
+    
     // ==================== GETTERS ====================
     
     public int getProductCount() {
         return inventoryItems.size();
     }
     
+    /**
+     * Read all product tiles in a single executeScript call
+     * 
+     * @return immutable rows in display order
+     */
+    public List<ProductRow> snapshot() {
+        List<?> rows = (List<?>) ((JavascriptExecutor) driver).executeScript(SNAPSHOT_SCRIPT);
+        List<ProductRow> snapshot = rows.stream()
+            .map(row -> ProductRow.fromScriptResult((Map<?, ?>) row))
+            .collect(Collectors.toUnmodifiableList());
+        log.debug("Catalog snapshot: {}", snapshot);
+        return snapshot;
+    }
+    
     public List<String> getAllProductNames() {
-        return productNames.stream()
-            .map(WebElement::getText)
+        return snapshot().stream()
+            .map(ProductRow::getName)
             .collect(Collectors.toList());
     }
     
     public List<Double> getAllProductPrices() {
-        return productPrices.stream()
-            .map(el -> el.getText().replace("$", ""))
-            .map(Double::parseDouble)
+        return snapshot().stream()
+            .map(ProductRow::getPrice)
             .collect(Collectors.toList());
     }
     
@@ -155,6 +243,7 @@ public class HomePage extends BasePage {
     
     public CartPage goToCart() {
         click(cartLink);
+        waitForPageReady("cart");
         log.info("Navigated to cart");
         return new CartPage(driver);
     }
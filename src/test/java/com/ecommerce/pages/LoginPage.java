@@ -1,6 +1,8 @@
 package com.ecommerce.pages;
 
+import com.ecommerce.config.ConfigManager;
 import com.ecommerce.pages.base.BasePage;
+import org.openqa.selenium.Cookie;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
@@ -9,6 +11,8 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Login Page Object
@@ -19,30 +23,41 @@ import java.time.Duration;
  */
 public class LoginPage extends BasePage {
     
+    // Session cookie written by the application on successful login
+    public static final String SESSION_COOKIE = "session-username";
+    private static final String INVENTORY_PATH = "/inventory.html";
+    
     // ==================== LOCATORS ====================
     
     @FindBy(id = "user-name")
-    private WebElement usernameField;
+    private final WebElement usernameField;
     
     @FindBy(id = "password")
-    private WebElement passwordField;
+    private final WebElement passwordField;
     
     @FindBy(id = "login-button")
-    private WebElement loginButton;
+    private final WebElement loginButton;
     
     @FindBy(css = "[data-test='error']")
-    private WebElement errorMessage;
+    private final WebElement errorMessage;
     
     @FindBy(css = ".error-button")
-    private WebElement errorCloseButton;
+    private final WebElement errorCloseButton;
     
     @FindBy(css = ".login_logo")
-    private WebElement loginLogo;
+    private final WebElement loginLogo;
     
     // ==================== CONSTRUCTOR ====================
     
     public LoginPage(WebDriver driver) {
         super(driver);
+        LoginPage_Bindings elements = LoginPage_Bindings.bind(elementCache);
+        usernameField = elements.usernameField;
+        passwordField = elements.passwordField;
+        loginButton = elements.loginButton;
+        errorMessage = elements.errorMessage;
+        errorCloseButton = elements.errorCloseButton;
+        loginLogo = elements.loginLogo;
         log.info("LoginPage initialized");
     }
     
@@ -66,12 +81,19 @@ public class LoginPage extends BasePage {
         return this;
     }
     
+    /**
+     * Fill both credentials in one script and submit; use enterUsername/
+     * enterPassword to type key by key
+     */
     public HomePage login(String username, String password) {
-        enterUsername(username);
-        enterPassword(password);
+        Map<WebElement, String> credentials = new LinkedHashMap<>();
+        credentials.put(usernameField, username);
+        credentials.put(passwordField, password);
+        fillForm(credentials);
         clickLoginButton();
         
         if (isLoginSuccessful()) {
+            waitForNetworkIdle();
             log.info("Login successful for user: {}", username);
             return new HomePage(driver);
         } else {
@@ -80,6 +102,34 @@ public class LoginPage extends BasePage {
         }
     }
     
+    /**
+     * Log in by injecting the application's session cookie instead of
+     * typing credentials, then open the inventory page directly.
+     * Use for tests whose subject is not the login form itself.
+     */
+    public HomePage fastLogin(String username) {
+        injectSession(driver, username);
+        driver.get(ConfigManager.getInstance().getProperty("base.url") + INVENTORY_PATH);
+        
+        if (isLoginSuccessful()) {
+            log.info("Fast login successful for user: {}", username);
+            return new HomePage(driver);
+        } else {
+            log.warn("Fast login failed for user: {}", username);
+            return null;
+        }
+    }
+    
+    /**
+     * Write the application's session cookie, as a successful login would
+     * The driver must be on the application's origin
+     *
+     * @throws org.openqa.selenium.WebDriverException if the browser rejects the cookie
+     */
+    public static void injectSession(WebDriver driver, String username) {
+        driver.manage().addCookie(new Cookie(SESSION_COOKIE, username, "/"));
+    }
+    
     public void attemptEmptyLogin() {
         clickLoginButton();
         log.info("Attempted login with empty credentials");
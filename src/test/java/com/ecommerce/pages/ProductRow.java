@@ -0,0 +1,113 @@
+package com.ecommerce.pages;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * One product tile of the inventory page, read in a single snapshot
+ * Immutable, so a snapshot can be asserted on repeatedly without
+ * going back to the browser
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public final class ProductRow {
+
+    private final int index;
+    private final String name;
+    private final long priceCents;
+    private final String description;
+    private final String buttonId;
+    private final String buttonText;
+
+    public ProductRow(int index, String name, long priceCents, String description,
+                      String buttonId, String buttonText) {
+        this.index = index;
+        this.name = name;
+        this.priceCents = priceCents;
+        this.description = description;
+        this.buttonId = buttonId;
+        this.buttonText = buttonText;
+    }
+
+    /**
+     * Build a row from the map returned by HomePage's snapshot script
+     */
+    static ProductRow fromScriptResult(Map<?, ?> row) {
+        return new ProductRow(
+            ((Number) row.get("index")).intValue(),
+            String.valueOf(row.get("name")),
+            parseCents(String.valueOf(row.get("price"))),
+            String.valueOf(row.get("description")),
+            String.valueOf(row.get("buttonId")),
+            String.valueOf(row.get("buttonText")));
+    }
+
+    /**
+     * Parse a displayed price such as "$29.99" into cents
+     */
+    public static long parseCents(String price) {
+        String amount = price.replace("$", "").replace(",", "").trim();
+        return new BigDecimal(amount).movePointRight(2).longValueExact();
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getPriceCents() {
+        return priceCents;
+    }
+
+    /**
+     * @return price in dollars, as returned by HomePage.getAllProductPrices()
+     */
+    public double getPrice() {
+        return priceCents / 100.0;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getButtonId() {
+        return buttonId;
+    }
+
+    public String getButtonText() {
+        return buttonText;
+    }
+
+    /**
+     * The tile shows "Remove" instead of "Add to cart" once the product is in the cart
+     */
+    public boolean isInCart() {
+        return buttonId.startsWith("remove");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ProductRow)) return false;
+        ProductRow other = (ProductRow) o;
+        return index == other.index && priceCents == other.priceCents && name.equals(other.name)
+            && description.equals(other.description) && buttonId.equals(other.buttonId)
+            && buttonText.equals(other.buttonText);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(index, name, priceCents, description, buttonId, buttonText);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("#%d %s $%d.%02d%s", index, name, priceCents / 100, priceCents % 100,
+            isInCart() ? " [in cart]" : "");
+    }
+}
@@ -0,0 +1,49 @@
+package com.ecommerce.pages;
+
+import org.testng.annotations.Test;
+
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for ProductRow snapshot parsing
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class ProductRowTest {
+
+    @Test(description = "Test displayed prices are parsed into exact cents")
+    public void testParseCents() {
+        assertEquals(ProductRow.parseCents("$29.99"), 2999);
+        assertEquals(ProductRow.parseCents("$7.99"), 799);
+        assertEquals(ProductRow.parseCents("15.9"), 1590);
+        assertEquals(ProductRow.parseCents("$1,049.00"), 104900);
+    }
+
+    @Test(description = "Test a snapshot script row maps onto a ProductRow")
+    public void testFromScriptResult() {
+        ProductRow row = ProductRow.fromScriptResult(Map.of(
+            "index", 2L,
+            "name", "Sauce Labs Bolt T-Shirt",
+            "price", "$15.99",
+            "description", "Get your testing superhero on",
+            "buttonId", "remove-sauce-labs-bolt-t-shirt",
+            "buttonText", "Remove"));
+
+        assertEquals(row.getIndex(), 2);
+        assertEquals(row.getName(), "Sauce Labs Bolt T-Shirt");
+        assertEquals(row.getPriceCents(), 1599);
+        assertEquals(row.getPrice(), 15.99);
+        assertTrue(row.isInCart());
+    }
+
+    @Test(description = "Test the add button means the product is not in the cart")
+    public void testNotInCart() {
+        ProductRow row = new ProductRow(0, "Sauce Labs Backpack", 2999, "",
+            "add-to-cart-sauce-labs-backpack", "Add to cart");
+
+        assertFalse(row.isInCart());
+    }
+}
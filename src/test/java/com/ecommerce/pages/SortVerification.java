@@ -0,0 +1,86 @@
+package com.ecommerce.pages;
+
+import java.util.Map;
+
+/**
+ * Outcome of checking the product order in the browser
+ * Constant size however many products the page lists: whether the order
+ * holds, and the first adjacent pair that breaks it
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public final class SortVerification {
+
+    private final HomePage.SortOption option;
+    private final boolean sorted;
+    private final int itemCount;
+    private final int violationIndex;
+    private final String first;
+    private final String second;
+
+    public SortVerification(HomePage.SortOption option, boolean sorted, int itemCount,
+                            int violationIndex, String first, String second) {
+        this.option = option;
+        this.sorted = sorted;
+        this.itemCount = itemCount;
+        this.violationIndex = violationIndex;
+        this.first = first;
+        this.second = second;
+    }
+
+    /**
+     * Build a result from the map returned by HomePage's sort check script
+     */
+    static SortVerification fromScriptResult(HomePage.SortOption option, Map<?, ?> result) {
+        int itemCount = ((Number) result.get("count")).intValue();
+        if (Boolean.TRUE.equals(result.get("sorted"))) {
+            return new SortVerification(option, true, itemCount, -1, null, null);
+        }
+        Object first = result.get("first");
+        return new SortVerification(option, false, itemCount, ((Number) result.get("index")).intValue(),
+            first != null ? String.valueOf(first) : null, String.valueOf(result.get("second")));
+    }
+
+    public HomePage.SortOption getOption() {
+        return option;
+    }
+
+    public boolean isSorted() {
+        return sorted;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    /**
+     * @return index of the first product of the violating pair, or -1 if sorted
+     */
+    public int getViolationIndex() {
+        return violationIndex;
+    }
+
+    /**
+     * @return displayed name or price of the first product of the violating pair
+     */
+    public String getFirst() {
+        return first;
+    }
+
+    /**
+     * @return displayed name or price of the product that should not follow it
+     */
+    public String getSecond() {
+        return second;
+    }
+
+    @Override
+    public String toString() {
+        if (sorted) {
+            return String.format("%s: sorted (%d products)", option, itemCount);
+        }
+        return String.format("%s: not sorted at #%d of %d products: '%s' before '%s'",
+            option, violationIndex, itemCount, first, second);
+    }
+}
@@ -0,0 +1,58 @@
+package com.ecommerce.pages;
+
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for SortVerification script-result parsing
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class SortVerificationTest {
+
+    @Test(description = "Test a sorted page yields no violating pair")
+    public void testSorted() {
+        SortVerification verification = SortVerification.fromScriptResult(HomePage.SortOption.NAME_A_TO_Z,
+            Map.of("sorted", true, "count", 6L));
+
+        assertTrue(verification.isSorted());
+        assertEquals(verification.getItemCount(), 6);
+        assertEquals(verification.getViolationIndex(), -1);
+        assertNull(verification.getFirst());
+    }
+
+    @Test(description = "Test the first violating pair is reported")
+    public void testViolation() {
+        SortVerification verification = SortVerification.fromScriptResult(HomePage.SortOption.PRICE_LOW_TO_HIGH,
+            Map.of("sorted", false, "count", 6L, "index", 2L, "first", "$29.99", "second", "$9.99"));
+
+        assertFalse(verification.isSorted());
+        assertEquals(verification.getViolationIndex(), 2);
+        assertEquals(verification.getFirst(), "$29.99");
+        assertEquals(verification.getSecond(), "$9.99");
+        assertEquals(verification.toString(),
+            "PRICE_LOW_TO_HIGH: not sorted at #2 of 6 products: '$29.99' before '$9.99'");
+    }
+
+    @Test(description = "Test an unparseable first price has no preceding product")
+    public void testViolationAtFirstProduct() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("sorted", false);
+        result.put("count", 6L);
+        result.put("index", 0L);
+        result.put("first", null);
+        result.put("second", "free");
+
+        SortVerification verification = SortVerification.fromScriptResult(HomePage.SortOption.PRICE_HIGH_TO_LOW,
+            result);
+
+        assertFalse(verification.isSorted());
+        assertNull(verification.getFirst());
+        assertEquals(verification.getSecond(), "free");
+    }
+}
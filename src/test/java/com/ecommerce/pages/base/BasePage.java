@@ -1,20 +1,36 @@
 package com.ecommerce.pages.base;
 
+import com.ecommerce.driver.NavigationTracker;
+import com.ecommerce.wait.DomCondition;
+import com.ecommerce.wait.NetworkIdleMonitor;
+import com.ecommerce.wait.WaitEngine;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.*;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
-import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Base Page - Foundation for all Page Objects
  * Contains common methods for all pages
  * 
+ * All waiting goes through the WaitEngine; sessions have no implicit
+ * wait, so isDisplayed/isEnabled and other checks answer immediately.
+ * 
+ * @FindBy fields are bound by the &lt;Page&gt;_Bindings class generated at
+ * build time (see PageBindingProcessor): each page constructor calls its
+ * bind(elementCache) after super(driver) and copies the returned elements
+ * into its private fields.
+ * 
+ * Element handles are cached per page (see ElementCache) and only found
+ * again after a navigation or when they go stale.
+ * 
  * @author QA Team
  * @version 2.0
  */
@@ -22,38 +38,89 @@ public abstract class BasePage {
     
     protected static final Logger log = LogManager.getLogger(BasePage.class);
     
-    protected WebDriver driver;
-    protected WebDriverWait wait;
+    // Looks every button up before clicking any, so a missing id leaves the page untouched
+    private static final String CLICK_ALL_SCRIPT =
+        "var ids = arguments[0];" +
+        "var buttons = ids.map(function (id) { return document.getElementById(id); });" +
+        "var missing = ids.filter(function (id, i) { return !buttons[i]; });" +
+        "if (missing.length === 0) {" +
+        "  buttons.forEach(function (button) { button.click(); });" +
+        "}" +
+        "return missing;";
     
-    private static final int DEFAULT_TIMEOUT = 20;
+    // Sets values through the native setter so React's onChange sees them, then reads them all back
+    private static final String FILL_FORM_SCRIPT =
+        "var fields = arguments[0], values = arguments[1];" +
+        "fields.forEach(function (field, i) {" +
+        "  var prototype = field instanceof HTMLTextAreaElement" +
+        "    ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;" +
+        "  Object.getOwnPropertyDescriptor(prototype, 'value').set.call(field, values[i]);" +
+        "  field.dispatchEvent(new Event('input', {bubbles: true}));" +
+        "  field.dispatchEvent(new Event('change', {bubbles: true}));" +
+        "});" +
+        "var mismatched = [];" +
+        "fields.forEach(function (field, i) {" +
+        "  if (field.value !== values[i]) { mismatched.push(i); }" +
+        "});" +
+        "return mismatched;";
+    
+    protected WebDriver driver;
+    protected WaitEngine waits;
+    protected ElementCache elementCache;
     
     public BasePage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(DEFAULT_TIMEOUT));
-        PageFactory.initElements(driver, this);
+        this.waits = WaitEngine.getInstance();
+        this.elementCache = new ElementCache(driver, () -> NavigationTracker.getInstance().epochOf(driver));
+        NetworkIdleMonitor.getInstance().track(driver);
     }
     
     // ==================== WAIT METHODS ====================
     
     protected void waitForElementVisible(WebElement element) {
-        wait.until(ExpectedConditions.visibilityOf(element));
+        waits.until(driver, DomCondition.visible(element), ExpectedConditions.visibilityOf(element), "visible");
     }
     
     protected void waitForElementClickable(WebElement element) {
-        wait.until(ExpectedConditions.elementToBeClickable(element));
+        waits.until(driver, DomCondition.clickable(element), ExpectedConditions.elementToBeClickable(element),
+            "clickable");
     }
     
     protected void waitForElementPresent(By locator) {
-        wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+        waits.awaitPresent(driver, locator, waits.getDefaultTimeout());
+    }
+    
+    protected boolean waitForElementAbsent(By locator) {
+        return waits.awaitAbsent(driver, locator, waits.getDefaultTimeout());
     }
     
     protected void waitForUrlContains(String urlPart) {
-        wait.until(ExpectedConditions.urlContains(urlPart));
+        waits.until(driver, ExpectedConditions.urlContains(urlPart), "url");
     }
     
     protected void waitForPageLoad() {
-        wait.until(driver -> ((JavascriptExecutor) driver)
-            .executeScript("return document.readyState").equals("complete"));
+        waits.until(driver, DomCondition.documentReady(), driver -> ((JavascriptExecutor) driver)
+            .executeScript("return document.readyState").equals("complete"), "page.load");
+    }
+    
+    /**
+     * Wait until no request was in flight for wait.network.idle.ms
+     * (readyState only, on browsers without CDP)
+     */
+    protected void waitForNetworkIdle() {
+        if (!NetworkIdleMonitor.getInstance().awaitIdle(driver, waits)) {
+            waitForPageLoad();
+        }
+    }
+    
+    /**
+     * Wait for a page transition: the URL changed and the network settled
+     * Cached element handles of the previous page are found again afterwards
+     */
+    protected void waitForPageReady(String urlPart) {
+        waitForUrlContains(urlPart);
+        waitForNetworkIdle();
+        NavigationTracker.getInstance().markNavigated(driver);
     }
     
     // ==================== ELEMENT INTERACTIONS ====================
@@ -71,25 +138,58 @@ public abstract class BasePage {
         log.debug("Typed '{}' into element", text);
     }
     
+    /**
+     * Fill several form fields in a single script execution
+     * 
+     * Values go through the input's native value setter followed by input
+     * and change events, so React state updates as if the user typed, and
+     * are read back in the same call. No key events are sent: tests about
+     * keyboard behaviour should use type() instead.
+     * 
+     * @param values fields and their values, filled in iteration order
+     * @throws InvalidElementStateException if a field does not hold its value afterwards
+     */
+    protected void fillForm(Map<WebElement, String> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        List<WebElement> fields = new ArrayList<>(values.keySet());
+        waitForElementVisible(fields.get(0));
+        if (!(driver instanceof JavascriptExecutor)) {
+            values.forEach(this::type);
+            return;
+        }
+        
+        List<?> mismatched = (List<?>) ((JavascriptExecutor) driver).executeScript(FILL_FORM_SCRIPT,
+            fields, new ArrayList<>(values.values()));
+        if (!mismatched.isEmpty()) {
+            List<WebElement> rejected = mismatched.stream()
+                .map(index -> fields.get(((Number) index).intValue()))
+                .collect(Collectors.toList());
+            throw new InvalidElementStateException("Fields did not take their values: " + rejected);
+        }
+        log.debug("Filled {} form fields in one script", fields.size());
+    }
+    
     protected String getText(WebElement element) {
         waitForElementVisible(element);
         return element.getText();
     }
     
     protected boolean isDisplayed(WebElement element) {
-        try {
-            return element.isDisplayed();
-        } catch (NoSuchElementException | StaleElementReferenceException e) {
-            return false;
-        }
+        return waits.check("displayed.check", element::isDisplayed);
+    }
+    
+    protected boolean isDisplayed(By locator) {
+        return waits.isDisplayed(driver, locator);
+    }
+    
+    protected boolean isElementPresent(By locator) {
+        return waits.isPresent(driver, locator);
     }
     
     protected boolean isEnabled(WebElement element) {
-        try {
-            return element.isEnabled();
-        } catch (NoSuchElementException e) {
-            return false;
-        }
+        return waits.check("enabled.check", element::isEnabled);
     }
     
     protected void selectByVisibleText(WebElement element, String text) {
@@ -117,6 +217,30 @@ public abstract class BasePage {
             "arguments[0].click();", element);
     }
     
+    /**
+     * Click several buttons, by id, in a single script execution
+     * Nothing is clicked unless every button exists
+     * 
+     * @param ids button ids, clicked in iteration order
+     * @throws NoSuchElementException listing the missing ids
+     */
+    protected void clickAllById(Collection<String> ids) {
+        List<?> missing = (List<?>) ((JavascriptExecutor) driver).executeScript(CLICK_ALL_SCRIPT,
+            new ArrayList<>(ids));
+        if (!missing.isEmpty()) {
+            throw new NoSuchElementException("No element with id " + missing + ", nothing was clicked");
+        }
+        log.debug("Clicked {} elements in one script: {}", ids.size(), ids);
+    }
+    
+    /**
+     * Resolve several element reads at once, in a single script execution
+     * on drivers that support JavaScript
+     */
+    protected ElementQueryResult read(ElementQuery query) {
+        return query.resolve(driver);
+    }
+    
     // ==================== UTILITY METHODS ====================
     
     protected List<WebElement> getElements(By locator) {
@@ -127,6 +251,14 @@ public abstract class BasePage {
         return driver.findElement(locator);
     }
     
+    /**
+     * Cached handle for a locator that identifies one long-lived node;
+     * found on first use, again after a navigation or when it goes stale
+     */
+    protected WebElement element(By locator) {
+        return elementCache.element(locator, locator.toString());
+    }
+    
     public String getCurrentUrl() {
         return driver.getCurrentUrl();
     }
@@ -0,0 +1,35 @@
+package com.ecommerce.pages.base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+
+/**
+ * Runtime support for the generated &lt;Page&gt;_Bindings classes
+ *
+ * PageBindingProcessor generates one bind(cache) per page object that
+ * creates the element for every @FindBy field through these factories.
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public final class ElementBindings {
+
+    private ElementBindings() {
+    }
+
+    /**
+     * Element located on first use and cached; re-located after navigation or if it goes stale
+     */
+    public static WebElement element(ElementCache cache, By locator, String name) {
+        return cache.element(locator, name);
+    }
+
+    /**
+     * Element list located afresh on each access, since its size changes with the page
+     */
+    public static List<WebElement> list(ElementCache cache, By locator, String name) {
+        return new LocatingElementList(cache.getContext(), locator, name);
+    }
+}
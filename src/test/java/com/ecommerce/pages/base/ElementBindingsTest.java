@@ -0,0 +1,98 @@
+package com.ecommerce.pages.base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for the generated-binding runtime (LazyElement, LocatingElementList)
+ * The search context and elements are stubs, so no browser is needed
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class ElementBindingsTest {
+
+    @Test(description = "Test a bound element is located once and then reused")
+    public void testElementLocatedOnce() {
+        CountingContext context = new CountingContext(() -> stubElement("Products", false));
+        ElementCache cache = new ElementCache(context, () -> 0);
+        WebElement title = ElementBindings.element(cache, By.cssSelector(".title"), "pageTitle");
+
+        assertEquals(context.finds.get(), 0, "Binding must not locate eagerly");
+        assertEquals(title.getText(), "Products");
+        assertEquals(title.getText(), "Products");
+        assertEquals(context.finds.get(), 1);
+    }
+
+    @Test(description = "Test a stale handle is dropped and the element located again")
+    public void testStaleElementRelocated() {
+        AtomicInteger created = new AtomicInteger();
+        CountingContext context = new CountingContext(
+            () -> stubElement("Products", created.incrementAndGet() == 1));
+        ElementCache cache = new ElementCache(context, () -> 0);
+        WebElement title = ElementBindings.element(cache, By.cssSelector(".title"), "pageTitle");
+
+        assertEquals(title.getText(), "Products");
+        assertEquals(context.finds.get(), 2);
+    }
+
+    @Test(description = "Test a bound list is located on each access, once per stream")
+    public void testListLocatedPerAccess() {
+        CountingContext context = new CountingContext(() -> stubElement("item", false));
+        ElementCache cache = new ElementCache(context, () -> 0);
+        List<WebElement> items = ElementBindings.list(cache, By.cssSelector(".cart_item"), "cartItems");
+
+        List<String> texts = items.stream().map(WebElement::getText).collect(Collectors.toList());
+        assertEquals(texts, List.of("item", "item"));
+        assertEquals(context.listFinds.get(), 1);
+
+        assertEquals(items.size(), 2);
+        assertEquals(context.listFinds.get(), 2);
+    }
+
+    private static WebElement stubElement(String text, boolean stale) {
+        return (WebElement) Proxy.newProxyInstance(ElementBindingsTest.class.getClassLoader(),
+            new Class<?>[]{WebElement.class}, (proxy, method, args) -> {
+                if (stale) {
+                    throw new StaleElementReferenceException("stale");
+                }
+                if (method.getName().equals("getText")) {
+                    return text;
+                }
+                throw new AssertionError("Unexpected WebElement call: " + method.getName());
+            });
+    }
+
+    private static final class CountingContext implements SearchContext {
+        final AtomicInteger finds = new AtomicInteger();
+        final AtomicInteger listFinds = new AtomicInteger();
+        final Supplier<WebElement> elements;
+
+        CountingContext(Supplier<WebElement> elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public WebElement findElement(By by) {
+            finds.incrementAndGet();
+            return elements.get();
+        }
+
+        @Override
+        public List<WebElement> findElements(By by) {
+            listFinds.incrementAndGet();
+            return List.of(elements.get(), elements.get());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.ecommerce.pages.base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Element Cache - Resolved element handles of one page object
+ *
+ * Each locator is found once and the handle kept. A handle is found
+ * again only when the session has navigated since it was resolved (the
+ * navigation epoch moved on) or when it turns out stale, e.g. after the
+ * SPA re-rendered the node on a client-side route change.
+ *
+ * Only cache locators that keep identifying the same node while the page
+ * is shown; lists whose size changes are located afresh instead.
+ *
+ * Hits, misses, stale re-finds and navigation invalidations are counted
+ * per page and for the whole suite.
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public final class ElementCache {
+
+    private static final Counters SUITE = new Counters();
+
+    private final SearchContext context;
+    private final LongSupplier navigationEpoch;
+    private final Map<By, WebElement> elements = new ConcurrentHashMap<>();
+    private final Counters counters = new Counters();
+
+    /**
+     * @param context where locators are resolved (usually the driver)
+     * @param navigationEpoch current navigation count of the session
+     */
+    public ElementCache(SearchContext context, LongSupplier navigationEpoch) {
+        this.context = context;
+        this.navigationEpoch = navigationEpoch;
+    }
+
+    /**
+     * Cached handle for a locator; the first call for a locator creates it
+     *
+     * @param locator locator that identifies a single, long-lived node
+     * @param name name used in messages
+     */
+    public WebElement element(By locator, String name) {
+        return elements.computeIfAbsent(locator, by -> new LazyElement(this, by, name));
+    }
+
+    public SearchContext getContext() {
+        return context;
+    }
+
+    long currentEpoch() {
+        return navigationEpoch.getAsLong();
+    }
+
+    void recordHit() {
+        counters.hits.incrementAndGet();
+        SUITE.hits.incrementAndGet();
+    }
+
+    void recordMiss() {
+        counters.misses.incrementAndGet();
+        SUITE.misses.incrementAndGet();
+    }
+
+    void recordStale() {
+        counters.staleRefinds.incrementAndGet();
+        SUITE.staleRefinds.incrementAndGet();
+    }
+
+    void recordInvalidation() {
+        counters.invalidations.incrementAndGet();
+        SUITE.invalidations.incrementAndGet();
+    }
+
+    long getHits() {
+        return counters.hits.get();
+    }
+
+    long getMisses() {
+        return counters.misses.get();
+    }
+
+    long getStaleRefinds() {
+        return counters.staleRefinds.get();
+    }
+
+    long getInvalidations() {
+        return counters.invalidations.get();
+    }
+
+    /**
+     * Suite-wide cache counters
+     */
+    public static String getMetricsSummary() {
+        return "Element cache" + System.lineSeparator() + "  " + SUITE;
+    }
+
+    /**
+     * Cache counters of a page or of the suite
+     */
+    private static final class Counters {
+        final AtomicLong hits = new AtomicLong();
+        final AtomicLong misses = new AtomicLong();
+        final AtomicLong staleRefinds = new AtomicLong();
+        final AtomicLong invalidations = new AtomicLong();
+
+        @Override
+        public String toString() {
+            long lookups = hits.get() + misses.get();
+            return String.format("hits=%d misses=%d hitRate=%.1f%% staleRefinds=%d navigationInvalidations=%d",
+                hits.get(), misses.get(), lookups == 0 ? 0.0 : 100.0 * hits.get() / lookups,
+                staleRefinds.get(), invalidations.get());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.ecommerce.pages.base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for ElementCache
+ * The search context, elements and navigation epoch are stubs, so no browser is needed
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class ElementCacheTest {
+
+    private static final By ADD_BUTTON = By.id("add-to-cart-sauce-labs-backpack");
+
+    @Test(description = "Test repeated use of a locator is a cache hit")
+    public void testHitsAndMisses() {
+        CountingContext context = new CountingContext();
+        ElementCache cache = new ElementCache(context, () -> 0);
+
+        cache.element(ADD_BUTTON, "add").click();
+        cache.element(ADD_BUTTON, "add").click();
+        cache.element(ADD_BUTTON, "add").click();
+
+        assertSame(cache.element(ADD_BUTTON, "add"), cache.element(ADD_BUTTON, "add"));
+        assertEquals(context.finds.get(), 1);
+        assertEquals(cache.getMisses(), 1);
+        assertEquals(cache.getHits(), 2);
+    }
+
+    @Test(description = "Test a navigation invalidates cached handles")
+    public void testNavigationInvalidates() {
+        CountingContext context = new CountingContext();
+        AtomicLong epoch = new AtomicLong();
+        ElementCache cache = new ElementCache(context, epoch::get);
+        WebElement button = cache.element(ADD_BUTTON, "add");
+
+        button.click();
+        epoch.incrementAndGet();
+        button.click();
+        button.click();
+
+        assertEquals(context.finds.get(), 2);
+        assertEquals(cache.getInvalidations(), 1);
+        assertEquals(cache.getMisses(), 2);
+        assertEquals(cache.getHits(), 1);
+    }
+
+    @Test(description = "Test a stale handle is found again and counted")
+    public void testStaleRefind() {
+        CountingContext context = new CountingContext();
+        ElementCache cache = new ElementCache(context, () -> 0);
+        WebElement button = cache.element(ADD_BUTTON, "add");
+
+        button.click();
+        context.staleAll();
+        button.click();
+
+        assertEquals(context.finds.get(), 2);
+        assertEquals(cache.getStaleRefinds(), 1);
+        assertEquals(cache.getInvalidations(), 0);
+    }
+
+    @Test(description = "Test the suite summary reports the counters")
+    public void testMetricsSummary() {
+        assertTrue(ElementCache.getMetricsSummary().contains("hits="));
+        assertTrue(ElementCache.getMetricsSummary().contains("staleRefinds="));
+    }
+
+    /**
+     * Search context whose elements can all be made stale at once, as after a re-render
+     */
+    private static final class CountingContext implements SearchContext {
+        final AtomicInteger finds = new AtomicInteger();
+        private volatile AtomicBoolean generation = new AtomicBoolean();
+
+        void staleAll() {
+            generation.set(true);
+            generation = new AtomicBoolean();
+        }
+
+        @Override
+        public WebElement findElement(By by) {
+            finds.incrementAndGet();
+            AtomicBoolean stale = generation;
+            return (WebElement) Proxy.newProxyInstance(ElementCacheTest.class.getClassLoader(),
+                new Class<?>[]{WebElement.class}, (proxy, method, args) -> {
+                    if (stale.get()) {
+                        throw new StaleElementReferenceException("stale");
+                    }
+                    if (method.getName().equals("click")) {
+                        return null;
+                    }
+                    throw new AssertionError("Unexpected WebElement call: " + method.getName());
+                });
+        }
+
+        @Override
+        public List<WebElement> findElements(By by) {
+            throw new AssertionError("Unexpected findElements");
+        }
+    }
+}
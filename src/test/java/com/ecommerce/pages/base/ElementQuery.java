@@ -0,0 +1,225 @@
+package com.ecommerce.pages.base;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Element Query - Several independent element reads resolved together
+ *
+ * Each read has a name, a locator and the property to read. On drivers
+ * that execute JavaScript the whole query is answered by one
+ * executeScript call; otherwise (or for locators that cannot be passed
+ * to the page) every read falls back to regular WebDriver calls.
+ *
+ * <pre>
+ * ElementQueryResult form = read(new ElementQuery()
+ *     .value("firstName", By.id("first-name"))
+ *     .displayed("error", By.cssSelector("[data-test='error']")));
+ * </pre>
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public final class ElementQuery {
+
+    private static final Logger log = LogManager.getLogger(ElementQuery.class);
+
+    public enum Property { TEXT, VALUE, DISPLAYED, ENABLED, ATTRIBUTE, COUNT }
+
+    // Locator strategies the resolver script can evaluate in the page
+    private static final Set<String> SCRIPT_STRATEGIES = Set.of(
+        "css selector", "id", "name", "class name", "tag name", "xpath", "link text", "partial link text");
+
+    // Mirrors WebElement semantics: text of hidden elements is empty, value/attribute prefer the property
+    private static final String RESOLVE_SCRIPT =
+        "var reads = arguments[0], result = {};" +
+        "function find(using, value) {" +
+        "  switch (using) {" +
+        "    case 'css selector': return Array.from(document.querySelectorAll(value));" +
+        "    case 'id': return Array.from(document.querySelectorAll('[id]')).filter(function (e) { return e.id === value; });" +
+        "    case 'name': return Array.from(document.getElementsByName(value));" +
+        "    case 'class name': return Array.from(document.getElementsByClassName(value));" +
+        "    case 'tag name': return Array.from(document.getElementsByTagName(value));" +
+        "    case 'link text': return Array.from(document.links).filter(function (a) { return a.innerText.trim() === value; });" +
+        "    case 'partial link text': return Array.from(document.links).filter(function (a) { return a.innerText.indexOf(value) >= 0; });" +
+        "  }" +
+        "  var snapshot = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null), found = [];" +
+        "  for (var i = 0; i < snapshot.snapshotLength; i++) { found.push(snapshot.snapshotItem(i)); }" +
+        "  return found;" +
+        "}" +
+        "function displayed(e) {" +
+        "  return e.getClientRects().length > 0 && getComputedStyle(e).visibility !== 'hidden';" +
+        "}" +
+        "function property(e, read) {" +
+        "  switch (read.property) {" +
+        "    case 'TEXT': return displayed(e) ? e.innerText.trim() : '';" +
+        "    case 'VALUE': return e.value !== undefined && e.value !== null ? String(e.value) : e.getAttribute('value');" +
+        "    case 'DISPLAYED': return displayed(e);" +
+        "    case 'ENABLED': return !e.disabled;" +
+        "  }" +
+        "  var value = e[read.attribute];" +
+        "  return value !== undefined && value !== null && typeof value !== 'object' && typeof value !== 'function'" +
+        "    ? String(value) : e.getAttribute(read.attribute);" +
+        "}" +
+        "reads.forEach(function (read) {" +
+        "  var found = find(read.using, read.value);" +
+        "  var value = read.property === 'COUNT' ? found.length" +
+        "    : read.all ? found.map(function (e) { return property(e, read); })" +
+        "    : found.length > 0 ? property(found[0], read) : null;" +
+        "  result[read.name] = {present: found.length > 0, value: value};" +
+        "});" +
+        "return result;";
+
+    private final Map<String, Read> reads = new LinkedHashMap<>();
+
+    public ElementQuery text(String name, By locator) {
+        return add(new Read(name, locator, Property.TEXT, null, false));
+    }
+
+    public ElementQuery value(String name, By locator) {
+        return add(new Read(name, locator, Property.VALUE, null, false));
+    }
+
+    public ElementQuery displayed(String name, By locator) {
+        return add(new Read(name, locator, Property.DISPLAYED, null, false));
+    }
+
+    public ElementQuery enabled(String name, By locator) {
+        return add(new Read(name, locator, Property.ENABLED, null, false));
+    }
+
+    public ElementQuery attribute(String name, By locator, String attribute) {
+        return add(new Read(name, locator, Property.ATTRIBUTE, attribute, false));
+    }
+
+    /**
+     * Read a property of every element the locator matches
+     */
+    public ElementQuery all(String name, By locator, Property property) {
+        return add(new Read(name, locator, property, null, true));
+    }
+
+    /**
+     * Read the visible text of every element the locator matches
+     */
+    public ElementQuery allText(String name, By locator) {
+        return all(name, locator, Property.TEXT);
+    }
+
+    /**
+     * Count the elements the locator matches
+     */
+    public ElementQuery count(String name, By locator) {
+        return add(new Read(name, locator, Property.COUNT, null, false));
+    }
+
+    private ElementQuery add(Read read) {
+        if (reads.putIfAbsent(read.name, read) != null) {
+            throw new IllegalArgumentException("Duplicate read name: " + read.name);
+        }
+        return this;
+    }
+
+    /**
+     * Resolve all reads, in one script execution when the driver allows it
+     */
+    ElementQueryResult resolve(WebDriver driver) {
+        if (driver instanceof JavascriptExecutor && reads.values().stream().allMatch(Read::isScriptable)) {
+            List<Map<String, Object>> specs = reads.values().stream()
+                .map(Read::toScriptArgument)
+                .collect(Collectors.toList());
+            Object result = ((JavascriptExecutor) driver).executeScript(RESOLVE_SCRIPT, specs);
+            return ElementQueryResult.fromScriptResult(reads.keySet(), (Map<?, ?>) result);
+        }
+        log.debug("Resolving {} reads with individual WebDriver calls", reads.size());
+        return resolveIndividually(driver);
+    }
+
+    private ElementQueryResult resolveIndividually(WebDriver driver) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        Map<String, Boolean> present = new LinkedHashMap<>();
+        for (Read read : reads.values()) {
+            List<WebElement> found = driver.findElements(read.locator);
+            present.put(read.name, !found.isEmpty());
+            if (read.property == Property.COUNT) {
+                values.put(read.name, found.size());
+            } else if (read.all) {
+                List<Object> all = new ArrayList<>();
+                for (WebElement element : found) {
+                    all.add(read.readFrom(element));
+                }
+                values.put(read.name, all);
+            } else {
+                values.put(read.name, found.isEmpty() ? null : read.readFrom(found.get(0)));
+            }
+        }
+        return new ElementQueryResult(values, present);
+    }
+
+    /**
+     * One named read
+     */
+    private static final class Read {
+        final String name;
+        final By locator;
+        final Property property;
+        final String attribute;
+        final boolean all;
+
+        Read(String name, By locator, Property property, String attribute, boolean all) {
+            this.name = name;
+            this.locator = locator;
+            this.property = property;
+            this.attribute = attribute;
+            this.all = all;
+        }
+
+        boolean isScriptable() {
+            return locator instanceof By.Remotable
+                && SCRIPT_STRATEGIES.contains(((By.Remotable) locator).getRemoteParameters().using());
+        }
+
+        Map<String, Object> toScriptArgument() {
+            By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+            Map<String, Object> argument = new LinkedHashMap<>();
+            argument.put("name", name);
+            argument.put("using", parameters.using());
+            argument.put("value", String.valueOf(parameters.value()));
+            argument.put("property", property.name());
+            argument.put("attribute", attribute);
+            argument.put("all", all);
+            return argument;
+        }
+
+        Object readFrom(WebElement element) {
+            try {
+                switch (property) {
+                    case TEXT:
+                        return element.getText();
+                    case VALUE:
+                        return element.getAttribute("value");
+                    case DISPLAYED:
+                        return element.isDisplayed();
+                    case ENABLED:
+                        return element.isEnabled();
+                    default:
+                        return element.getAttribute(attribute);
+                }
+            } catch (StaleElementReferenceException e) {
+                return property == Property.DISPLAYED || property == Property.ENABLED ? Boolean.FALSE : null;
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.ecommerce.pages.base;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Values read by an ElementQuery, looked up by read name
+ *
+ * A read whose locator matched nothing is not present: its string value
+ * is null, its boolean value false, its list empty and its count zero.
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public final class ElementQueryResult {
+
+    private final Map<String, Object> values;
+    private final Map<String, Boolean> present;
+
+    ElementQueryResult(Map<String, Object> values, Map<String, Boolean> present) {
+        this.values = Collections.unmodifiableMap(values);
+        this.present = Collections.unmodifiableMap(present);
+    }
+
+    /**
+     * Build a result from the map returned by ElementQuery's resolver script
+     */
+    static ElementQueryResult fromScriptResult(Set<String> names, Map<?, ?> result) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        Map<String, Boolean> present = new LinkedHashMap<>();
+        for (String name : names) {
+            Map<?, ?> read = (Map<?, ?>) result.get(name);
+            values.put(name, read.get("value"));
+            present.put(name, Boolean.TRUE.equals(read.get("present")));
+        }
+        return new ElementQueryResult(values, present);
+    }
+
+    /**
+     * @return whether the read's locator matched at least one element
+     */
+    public boolean isPresent(String name) {
+        return present.get(requireRead(name));
+    }
+
+    /**
+     * Value of a text, value or attribute read
+     */
+    public String getString(String name) {
+        Object value = values.get(requireRead(name));
+        return value != null ? String.valueOf(value) : null;
+    }
+
+    /**
+     * Value of a displayed or enabled read
+     */
+    public boolean getBoolean(String name) {
+        return Boolean.TRUE.equals(values.get(requireRead(name)));
+    }
+
+    /**
+     * Values of a read over all matching elements
+     */
+    public List<String> getStrings(String name) {
+        Object value = values.get(requireRead(name));
+        if (!(value instanceof List)) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(((List<?>) value).stream()
+            .map(item -> item != null ? String.valueOf(item) : null)
+            .collect(Collectors.toList()));
+    }
+
+    /**
+     * Value of a count read
+     */
+    public int getCount(String name) {
+        Object value = values.get(requireRead(name));
+        return value instanceof Number ? ((Number) value).intValue() : 0;
+    }
+
+    private String requireRead(String name) {
+        if (!present.containsKey(name)) {
+            throw new IllegalArgumentException("Query has no read named '" + name + "'");
+        }
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return values.toString();
+    }
+}
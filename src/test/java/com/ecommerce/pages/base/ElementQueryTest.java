@@ -0,0 +1,106 @@
+package com.ecommerce.pages.base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for ElementQuery
+ * Drivers and elements are stubs, so no browser is needed
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class ElementQueryTest {
+
+    @Test(description = "Test the whole query is answered by one script execution")
+    public void testResolvedInOneScript() {
+        AtomicInteger scripts = new AtomicInteger();
+        WebDriver driver = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[]{WebDriver.class, JavascriptExecutor.class}, (proxy, method, args) -> {
+                if (!method.getName().equals("executeScript")) {
+                    throw new AssertionError("Unexpected WebDriver call: " + method.getName());
+                }
+                scripts.incrementAndGet();
+                return Map.of(
+                    "first", Map.of("present", true, "value", "Jane"),
+                    "error", Map.of("present", false, "value", false),
+                    "names", Map.of("present", true, "value", List.of("Backpack", "Bike Light")),
+                    "items", Map.of("present", true, "value", 2L));
+            });
+
+        ElementQueryResult result = new ElementQuery()
+            .value("first", By.id("first-name"))
+            .displayed("error", By.cssSelector("[data-test='error']"))
+            .allText("names", By.className("inventory_item_name"))
+            .count("items", By.xpath("//div[@class='cart_item']"))
+            .resolve(driver);
+
+        assertEquals(scripts.get(), 1);
+        assertEquals(result.getString("first"), "Jane");
+        assertFalse(result.getBoolean("error"));
+        assertFalse(result.isPresent("error"));
+        assertEquals(result.getStrings("names"), List.of("Backpack", "Bike Light"));
+        assertEquals(result.getCount("items"), 2);
+    }
+
+    @Test(description = "Test drivers without JavaScript fall back to per-element calls")
+    public void testFallbackWithoutJavaScript() {
+        WebElement name = stubElement("Sauce Labs Backpack", true);
+        WebDriver driver = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[]{WebDriver.class}, (proxy, method, args) -> {
+                By locator = (By) args[0];
+                return locator.equals(By.id("missing")) ? Collections.emptyList() : List.of(name, name);
+            });
+
+        ElementQueryResult result = new ElementQuery()
+            .text("name", By.id("item"))
+            .enabled("enabled", By.id("item"))
+            .attribute("class", By.id("item"), "class")
+            .allText("names", By.id("item"))
+            .displayed("missing", By.id("missing"))
+            .count("items", By.id("item"))
+            .resolve(driver);
+
+        assertEquals(result.getString("name"), "Sauce Labs Backpack");
+        assertTrue(result.getBoolean("enabled"));
+        assertEquals(result.getString("class"), "inventory_item_name");
+        assertEquals(result.getStrings("names"), List.of("Sauce Labs Backpack", "Sauce Labs Backpack"));
+        assertFalse(result.isPresent("missing"));
+        assertFalse(result.getBoolean("missing"));
+        assertEquals(result.getCount("items"), 2);
+    }
+
+    @Test(description = "Test read names must be unique",
+          expectedExceptions = IllegalArgumentException.class)
+    public void testDuplicateReadRejected() {
+        new ElementQuery().text("name", By.id("a")).value("name", By.id("b"));
+    }
+
+    private static WebElement stubElement(String text, boolean enabled) {
+        return (WebElement) Proxy.newProxyInstance(ElementQueryTest.class.getClassLoader(),
+            new Class<?>[]{WebElement.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getText":
+                        return text;
+                    case "isEnabled":
+                    case "isDisplayed":
+                        return enabled;
+                    case "getAttribute":
+                        return "inventory_item_name";
+                    default:
+                        throw new AssertionError("Unexpected WebElement call: " + method.getName());
+                }
+            });
+    }
+}
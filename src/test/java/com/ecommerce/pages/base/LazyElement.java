@@ -0,0 +1,221 @@
+package com.ecommerce.pages.base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Coordinates;
+import org.openqa.selenium.interactions.Locatable;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A page-object field bound to a locator
+ *
+ * The element is found on first use and the handle is kept, so repeated
+ * interactions cost no lookup. The handle is found again after the
+ * session navigated (see ElementCache), and a handle that has gone stale
+ * (the app re-rendered the node) is dropped and the element found again
+ * once.
+ * A missing element throws NoSuchElementException on use, as with
+ * PageFactory.
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+final class LazyElement implements WebElement, WrapsElement, Locatable {
+
+    private final ElementCache cache;
+    private final By locator;
+    private final String name;
+    private volatile Resolved resolved;
+
+    LazyElement(ElementCache cache, By locator, String name) {
+        this.cache = cache;
+        this.locator = locator;
+        this.name = name;
+    }
+
+    private WebElement locate() {
+        long epoch = cache.currentEpoch();
+        Resolved current = resolved;
+        if (current != null && current.epoch == epoch) {
+            cache.recordHit();
+            return current.element;
+        }
+        if (current != null) {
+            cache.recordInvalidation();
+        }
+        cache.recordMiss();
+        WebElement located = cache.getContext().findElement(locator);
+        resolved = new Resolved(located, epoch);
+        return located;
+    }
+
+    private <T> T call(Function<WebElement, T> action) {
+        try {
+            return action.apply(locate());
+        } catch (StaleElementReferenceException e) {
+            cache.recordStale();
+            resolved = null;
+            return action.apply(locate());
+        }
+    }
+
+    private void run(Consumer<WebElement> action) {
+        call(located -> {
+            action.accept(located);
+            return null;
+        });
+    }
+
+    @Override
+    public WebElement getWrappedElement() {
+        return locate();
+    }
+
+    @Override
+    public Coordinates getCoordinates() {
+        return call(located -> {
+            if (located instanceof Locatable) {
+                return ((Locatable) located).getCoordinates();
+            }
+            throw new UnsupportedOperationException("Element is not Locatable: " + this);
+        });
+    }
+
+    @Override
+    public void click() {
+        run(WebElement::click);
+    }
+
+    @Override
+    public void submit() {
+        run(WebElement::submit);
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        run(located -> located.sendKeys(keysToSend));
+    }
+
+    @Override
+    public void clear() {
+        run(WebElement::clear);
+    }
+
+    @Override
+    public String getTagName() {
+        return call(WebElement::getTagName);
+    }
+
+    @Override
+    public String getDomProperty(String propertyName) {
+        return call(located -> located.getDomProperty(propertyName));
+    }
+
+    @Override
+    public String getDomAttribute(String attributeName) {
+        return call(located -> located.getDomAttribute(attributeName));
+    }
+
+    @Override
+    public String getAttribute(String attributeName) {
+        return call(located -> located.getAttribute(attributeName));
+    }
+
+    @Override
+    public String getAriaRole() {
+        return call(WebElement::getAriaRole);
+    }
+
+    @Override
+    public String getAccessibleName() {
+        return call(WebElement::getAccessibleName);
+    }
+
+    @Override
+    public boolean isSelected() {
+        return call(WebElement::isSelected);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return call(WebElement::isEnabled);
+    }
+
+    @Override
+    public String getText() {
+        return call(WebElement::getText);
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return call(located -> located.findElements(by));
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return call(located -> located.findElement(by));
+    }
+
+    @Override
+    public SearchContext getShadowRoot() {
+        return call(WebElement::getShadowRoot);
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        return call(WebElement::isDisplayed);
+    }
+
+    @Override
+    public Point getLocation() {
+        return call(WebElement::getLocation);
+    }
+
+    @Override
+    public Dimension getSize() {
+        return call(WebElement::getSize);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        return call(WebElement::getRect);
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        return call(located -> located.getCssValue(propertyName));
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        return call(located -> located.getScreenshotAs(target));
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + locator + ")";
+    }
+
+    /**
+     * A found handle and the navigation epoch it was found in
+     */
+    private static final class Resolved {
+        final WebElement element;
+        final long epoch;
+
+        Resolved(WebElement element, long epoch) {
+            this.element = element;
+            this.epoch = epoch;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.ecommerce.pages.base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A page-object list field bound to a locator
+ *
+ * Every access finds the elements again, because lists such as cart
+ * items change size while the page is open. Iteration and streams work
+ * on one lookup, so a stream over the list costs a single findElements.
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+final class LocatingElementList extends AbstractList<WebElement> {
+
+    private final SearchContext context;
+    private final By locator;
+    private final String name;
+
+    LocatingElementList(SearchContext context, By locator, String name) {
+        this.context = context;
+        this.locator = locator;
+        this.name = name;
+    }
+
+    private List<WebElement> locate() {
+        return context.findElements(locator);
+    }
+
+    @Override
+    public WebElement get(int index) {
+        return locate().get(index);
+    }
+
+    @Override
+    public int size() {
+        return locate().size();
+    }
+
+    @Override
+    public Iterator<WebElement> iterator() {
+        return locate().iterator();
+    }
+
+    @Override
+    public ListIterator<WebElement> listIterator(int index) {
+        return locate().listIterator(index);
+    }
+
+    @Override
+    public Spliterator<WebElement> spliterator() {
+        return locate().spliterator();
+    }
+
+    @Override
+    public void forEach(Consumer<? super WebElement> action) {
+        locate().forEach(action);
+    }
+
+    @Override
+    public Object[] toArray() {
+        return locate().toArray();
+    }
+
+    @Override
+    public <T> T[] toArray(T[] array) {
+        return locate().toArray(array);
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + locator + ")";
+    }
+}
@@ -0,0 +1,73 @@
+package com.ecommerce.state;
+
+import com.ecommerce.config.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Named application-state precondition, e.g. "logged in with backpack"
+ *
+ * The first restore() in the JVM builds the state through the UI with
+ * the fixture's builder and captures it. Every later restore() injects
+ * the captured cookies and localStorage directly, so the setup cost no
+ * longer depends on how many steps the precondition needs.
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class AppStateFixture {
+
+    private static final Logger log = LogManager.getLogger(AppStateFixture.class);
+
+    // Captured snapshots shared by all threads, keyed by fixture name
+    private static final Map<String, AppStateSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final Consumer<WebDriver> builder;
+
+    /**
+     * @param name unique fixture name
+     * @param builder builds the state through the UI, starting on base.url
+     */
+    public AppStateFixture(String name, Consumer<WebDriver> builder) {
+        this.name = name;
+        this.builder = builder;
+    }
+
+    /**
+     * Put the session into this fixture's state and open a page
+     * The driver must be on the application's origin (leased drivers are)
+     *
+     * @param driver the test's driver
+     * @param landingPath page to open afterwards, e.g. "/cart.html"
+     */
+    public void restore(WebDriver driver, String landingPath) {
+        AppStateSnapshot snapshot = snapshots.get(name);
+        if (snapshot != null) {
+            snapshot.restore(driver);
+            log.info("Restored fixture '{}'", name);
+        } else {
+            // Parallel first uses may both build; the result is identical, first capture wins
+            builder.accept(driver);
+            snapshots.putIfAbsent(name, AppStateSnapshot.capture(driver));
+            log.info("Built and captured fixture '{}'", name);
+        }
+        driver.get(ConfigManager.getInstance().getProperty("base.url") + landingPath);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Forget all captured snapshots (next restore rebuilds them)
+     */
+    public static void clearAll() {
+        snapshots.clear();
+    }
+}
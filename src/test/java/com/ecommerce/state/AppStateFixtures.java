@@ -0,0 +1,37 @@
+package com.ecommerce.state;
+
+import com.ecommerce.config.ConfigManager;
+import com.ecommerce.pages.HomePage;
+import com.ecommerce.pages.LoginPage;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Catalog of reusable application-state fixtures
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public final class AppStateFixtures {
+
+    public static final AppStateFixture LOGGED_IN = new AppStateFixture(
+        "logged-in", driver -> loginAsStandardUser(driver));
+
+    public static final AppStateFixture LOGGED_IN_WITH_BACKPACK = new AppStateFixture(
+        "logged-in with backpack", driver -> loginAsStandardUser(driver)
+            .addProductToCart("Sauce Labs Backpack"));
+
+    public static final AppStateFixture LOGGED_IN_WITH_BACKPACK_AND_BIKE_LIGHT = new AppStateFixture(
+        "logged-in with backpack + bike light", driver -> {
+            HomePage homePage = loginAsStandardUser(driver);
+            homePage.addProductToCart("Sauce Labs Backpack");
+            homePage.addProductToCart("Sauce Labs Bike Light");
+        });
+
+    private AppStateFixtures() {
+    }
+
+    private static HomePage loginAsStandardUser(WebDriver driver) {
+        String username = ConfigManager.getInstance().getProperty("standard.user", "standard_user");
+        return new LoginPage(driver).fastLogin(username);
+    }
+}
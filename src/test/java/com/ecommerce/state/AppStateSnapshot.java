@@ -0,0 +1,93 @@
+package com.ecommerce.state;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable copy of the application's client-side state
+ * (cookies and localStorage, which holds the cart contents)
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public final class AppStateSnapshot {
+
+    private static final Logger log = LogManager.getLogger(AppStateSnapshot.class);
+
+    private static final String READ_STORAGE_SCRIPT =
+        "var entries = {};" +
+        "for (var i = 0; i < window.localStorage.length; i++) {" +
+        "  var key = window.localStorage.key(i);" +
+        "  entries[key] = window.localStorage.getItem(key);" +
+        "}" +
+        "return entries;";
+
+    private static final String WRITE_STORAGE_SCRIPT =
+        "window.localStorage.clear();" +
+        "var entries = arguments[0];" +
+        "for (var key in entries) { window.localStorage.setItem(key, entries[key]); }";
+
+    private final List<Cookie> cookies;
+    private final Map<String, String> localStorage;
+
+    private AppStateSnapshot(List<Cookie> cookies, Map<String, String> localStorage) {
+        this.cookies = Collections.unmodifiableList(cookies);
+        this.localStorage = Collections.unmodifiableMap(localStorage);
+    }
+
+    /**
+     * Capture cookies and localStorage of the current page's origin
+     *
+     * @param driver driver positioned on the application
+     * @return the snapshot
+     */
+    public static AppStateSnapshot capture(WebDriver driver) {
+        List<Cookie> cookies = new ArrayList<>(driver.manage().getCookies());
+
+        Map<String, String> storage = new LinkedHashMap<>();
+        Object result = ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT);
+        if (result instanceof Map) {
+            ((Map<?, ?>) result).forEach((key, value) -> storage.put(String.valueOf(key), String.valueOf(value)));
+        }
+
+        log.debug("Captured app state: {} cookie(s), {} storage key(s)", cookies.size(), storage.size());
+        return new AppStateSnapshot(cookies, storage);
+    }
+
+    /**
+     * Replace the current origin's cookies and localStorage with this snapshot
+     * The driver must already be on the application's origin
+     *
+     * @param driver driver positioned on the application
+     */
+    public void restore(WebDriver driver) {
+        driver.manage().deleteAllCookies();
+        for (Cookie cookie : cookies) {
+            // Drop domain and expiry: the host is implied and a captured expiry may have passed
+            driver.manage().addCookie(new Cookie.Builder(cookie.getName(), cookie.getValue())
+                .path(cookie.getPath())
+                .isSecure(cookie.isSecure())
+                .isHttpOnly(cookie.isHttpOnly())
+                .build());
+        }
+        ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT, localStorage);
+        log.debug("Restored app state: {} cookie(s), {} storage key(s)", cookies.size(), localStorage.size());
+    }
+
+    public List<Cookie> getCookies() {
+        return cookies;
+    }
+
+    public Map<String, String> getLocalStorage() {
+        return localStorage;
+    }
+}
@@ -0,0 +1,59 @@
+package com.ecommerce.state;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The cart as the application persists it, in storage order
+ * Immutable, so it can be asserted on repeatedly without the browser
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public final class CartContents {
+
+    private final List<Product> items;
+
+    public CartContents(List<Product> items) {
+        this.items = Collections.unmodifiableList(items);
+    }
+
+    public List<Product> getItems() {
+        return items;
+    }
+
+    public int getItemCount() {
+        return items.size();
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    public List<String> getItemNames() {
+        return items.stream()
+            .map(Product::getName)
+            .collect(Collectors.toList());
+    }
+
+    public boolean contains(String productName) {
+        return items.stream().anyMatch(item -> item.getName().equals(productName));
+    }
+
+    public long getTotalCents() {
+        return items.stream().mapToLong(Product::getPriceCents).sum();
+    }
+
+    /**
+     * @return total in dollars, comparable to CartPage.getCartTotal()
+     */
+    public double getTotal() {
+        return getTotalCents() / 100.0;
+    }
+
+    @Override
+    public String toString() {
+        return "Cart" + items;
+    }
+}
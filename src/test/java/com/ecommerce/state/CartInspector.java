@@ -0,0 +1,99 @@
+package com.ecommerce.state;
+
+import com.ecommerce.pages.ProductRow;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Cart Inspector - Reads the cart from the application's own state
+ *
+ * The app persists the cart in localStorage ("cart-contents", a JSON
+ * array of product ids). One script reads it, and product ids are
+ * turned into names and prices through the shared ProductCatalog, so
+ * tests can assert on the exact cart without loading the cart page.
+ *
+ * Products the catalog has not seen yet are learned, in the same script,
+ * from the product tiles on the current page (inventory, cart or
+ * checkout overview). Use CartPage for tests about how the cart page
+ * itself renders.
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public final class CartInspector {
+
+    private static final Logger log = LogManager.getLogger(CartInspector.class);
+
+    public static final String CART_STORAGE_KEY = "cart-contents";
+
+    // Tiles are only read when the cart holds an id the catalog does not know yet
+    private static final String INSPECT_SCRIPT =
+        "var raw = window.localStorage.getItem('" + CART_STORAGE_KEY + "');" +
+        "var ids = raw ? JSON.parse(raw) : [];" +
+        "var known = arguments[0];" +
+        "var products = [];" +
+        "if (ids.some(function (id) { return known.indexOf(id) < 0; })) {" +
+        "  document.querySelectorAll('.inventory_item, .cart_item').forEach(function (item) {" +
+        "    var link = item.querySelector(\"a[id$='_title_link']\");" +
+        "    var name = item.querySelector('.inventory_item_name');" +
+        "    var price = item.querySelector('.inventory_item_price');" +
+        "    if (link && name && price) {" +
+        "      products.push({id: parseInt(link.id.split('_')[1], 10), name: name.innerText.trim()," +
+        "                     price: price.innerText.trim()});" +
+        "    }" +
+        "  });" +
+        "}" +
+        "return {ids: ids, products: products};";
+
+    private CartInspector() {
+    }
+
+    /**
+     * Read the current cart in a single script execution
+     *
+     * @param driver driver positioned on the application
+     * @return the cart, in storage order
+     * @throws IllegalStateException if the cart holds a product that neither
+     *         the catalog nor the current page knows
+     */
+    public static CartContents inspect(WebDriver driver) {
+        ProductCatalog catalog = ProductCatalog.getInstance();
+        Object result = ((JavascriptExecutor) driver).executeScript(INSPECT_SCRIPT,
+            new ArrayList<>(catalog.getKnownIds()));
+        CartContents cart = fromScriptResult((Map<?, ?>) result, catalog);
+        log.debug("Inspected cart: {}", cart);
+        return cart;
+    }
+
+    /**
+     * Record the products the script found, then resolve the cart's ids
+     */
+    static CartContents fromScriptResult(Map<?, ?> result, ProductCatalog catalog) {
+        for (Object entry : (List<?>) result.get("products")) {
+            Map<?, ?> product = (Map<?, ?>) entry;
+            catalog.record(new Product(((Number) product.get("id")).intValue(),
+                String.valueOf(product.get("name")), ProductRow.parseCents(String.valueOf(product.get("price")))));
+        }
+
+        List<Integer> ids = ((List<?>) result.get("ids")).stream()
+            .map(id -> ((Number) id).intValue())
+            .collect(Collectors.toList());
+        List<Product> items = new ArrayList<>();
+        List<Integer> unknown = new ArrayList<>();
+        for (int id : ids) {
+            catalog.find(id).ifPresentOrElse(items::add, () -> unknown.add(id));
+        }
+        if (!unknown.isEmpty()) {
+            throw new IllegalStateException("Cart holds product id(s) " + unknown
+                + " not in the catalog yet; inspect the cart once from a page that lists them");
+        }
+        return new CartContents(items);
+    }
+}
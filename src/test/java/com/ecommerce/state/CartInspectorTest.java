@@ -0,0 +1,61 @@
+package com.ecommerce.state;
+
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for CartInspector script-result parsing
+ * Each test uses its own ProductCatalog, so no browser or suite state is needed
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class CartInspectorTest {
+
+    @Test(description = "Test cart ids resolve to products from the page, in cart order")
+    public void testResolvesIdsFromPageProducts() {
+        ProductCatalog catalog = new ProductCatalog();
+
+        CartContents cart = CartInspector.fromScriptResult(Map.of(
+            "ids", List.of(0L, 4L),
+            "products", List.of(
+                Map.of("id", 4L, "name", "Sauce Labs Backpack", "price", "$29.99"),
+                Map.of("id", 0L, "name", "Sauce Labs Bike Light", "price", "$9.99"))), catalog);
+
+        assertEquals(cart.getItemNames(), List.of("Sauce Labs Bike Light", "Sauce Labs Backpack"));
+        assertEquals(cart.getTotalCents(), 3998);
+        assertEquals(cart.getTotal(), 39.98, 0.001);
+        assertTrue(cart.contains("Sauce Labs Backpack"));
+        assertEquals(catalog.size(), 2);
+    }
+
+    @Test(description = "Test the cached catalog resolves ids when the page lists no products")
+    public void testResolvesIdsFromCatalog() {
+        ProductCatalog catalog = new ProductCatalog();
+        catalog.record(new Product(1, "Sauce Labs Bolt T-Shirt", 1599));
+
+        CartContents cart = CartInspector.fromScriptResult(Map.of(
+            "ids", List.of(1L), "products", List.of()), catalog);
+
+        assertEquals(cart.getItems(), List.of(new Product(1, "Sauce Labs Bolt T-Shirt", 1599)));
+    }
+
+    @Test(description = "Test an empty cart needs no catalog")
+    public void testEmptyCart() {
+        CartContents cart = CartInspector.fromScriptResult(Map.of(
+            "ids", List.of(), "products", List.of()), new ProductCatalog());
+
+        assertTrue(cart.isEmpty());
+        assertEquals(cart.getTotalCents(), 0);
+    }
+
+    @Test(description = "Test an id nobody knows fails instead of being dropped")
+    public void testUnknownIdFails() {
+        assertThrows(IllegalStateException.class, () -> CartInspector.fromScriptResult(Map.of(
+            "ids", List.of(5L), "products", List.of()), new ProductCatalog()));
+    }
+}
@@ -0,0 +1,97 @@
+package com.ecommerce.state;
+
+import com.ecommerce.config.ConfigManager;
+import com.ecommerce.pages.CheckoutPage;
+import com.ecommerce.pages.LoginPage;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Opens a checkout step directly, with the session and cart seeded
+ *
+ * Writes the login cookie and the persisted cart ("cart-contents") the
+ * app would have after login and add-to-cart, then loads the step's URL,
+ * so checkout tests skip the login, inventory and cart pages entirely.
+ * The driver must be on the application's origin (leased drivers are).
+ * If the app does not accept the session and sends the browser back to
+ * the login page, open() fails instead of returning a checkout page.
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public final class CheckoutDeepLink {
+
+    private static final Logger log = LogManager.getLogger(CheckoutDeepLink.class);
+
+    private static final String SEED_CART_SCRIPT =
+        "window.localStorage.setItem(arguments[0], arguments[1]);";
+
+    /**
+     * Checkout steps that can be opened directly
+     */
+    public enum CheckoutStep {
+        INFORMATION("/checkout-step-one.html"),
+        OVERVIEW("/checkout-step-two.html"),
+        COMPLETE("/checkout-complete.html");
+
+        private final String path;
+
+        CheckoutStep(String path) {
+            this.path = path;
+        }
+
+        public String getPath() {
+            return path;
+        }
+    }
+
+    private CheckoutDeepLink() {
+    }
+
+    /**
+     * Open a checkout step as the standard user
+     *
+     * @param driver the test's driver
+     * @param step step to open
+     * @param productIds app product ids to put in the cart (e.g. 4 for Sauce Labs Backpack)
+     * @return the checkout page
+     */
+    public static CheckoutPage open(WebDriver driver, CheckoutStep step, int... productIds) {
+        String username = ConfigManager.getInstance().getProperty("standard.user", "standard_user");
+        return open(driver, username, step, productIds);
+    }
+
+    /**
+     * Open a checkout step as the given user
+     *
+     * @throws IllegalStateException if the app redirects away from the step,
+     *         e.g. because the session cookie is missing or was not accepted
+     */
+    public static CheckoutPage open(WebDriver driver, String username, CheckoutStep step, int... productIds) {
+        LoginPage.injectSession(driver, username);
+        ((JavascriptExecutor) driver).executeScript(SEED_CART_SCRIPT,
+            CartInspector.CART_STORAGE_KEY, cartContents(productIds));
+        driver.get(ConfigManager.getInstance().getProperty("base.url") + step.getPath());
+        String landedOn = driver.getCurrentUrl();
+        if (landedOn == null || !landedOn.contains(step.getPath())) {
+            throw new IllegalStateException("Deep link to " + step + " as " + username
+                + " was rejected, the app redirected to " + landedOn);
+        }
+        log.info("Deep-linked to {} as {} with products {}", step, username, Arrays.toString(productIds));
+        return new CheckoutPage(driver);
+    }
+
+    /**
+     * The persisted cart value for the given product ids, e.g. "[4,0]"
+     */
+    static String cartContents(int... productIds) {
+        return Arrays.stream(productIds)
+            .mapToObj(String::valueOf)
+            .collect(Collectors.joining(",", "[", "]"));
+    }
+}
@@ -0,0 +1,107 @@
+package com.ecommerce.state;
+
+import com.ecommerce.pages.LoginPage;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.UnableToSetCookieException;
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for CheckoutDeepLink
+ * The session is a WebDriver stub, so no browser is needed
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class CheckoutDeepLinkTest {
+
+    @Test(description = "Test product ids are written as the app's JSON cart array")
+    public void testCartContents() {
+        assertEquals(CheckoutDeepLink.cartContents(4, 0), "[4,0]");
+        assertEquals(CheckoutDeepLink.cartContents(), "[]");
+    }
+
+    @Test(description = "Test each step maps to its page")
+    public void testStepPaths() {
+        assertEquals(CheckoutDeepLink.CheckoutStep.INFORMATION.getPath(), "/checkout-step-one.html");
+        assertEquals(CheckoutDeepLink.CheckoutStep.OVERVIEW.getPath(), "/checkout-step-two.html");
+        assertEquals(CheckoutDeepLink.CheckoutStep.COMPLETE.getPath(), "/checkout-complete.html");
+        assertEquals(CheckoutDeepLink.CheckoutStep.values().length, 3, "Every step needs a path assertion");
+    }
+
+    @Test(description = "Test a session the app does not accept fails instead of returning a checkout page")
+    public void testMissingSessionRedirectedToLogin() {
+        StubSession session = new StubSession(false, "https://www.saucedemo.com/");
+
+        IllegalStateException e = expectThrows(IllegalStateException.class, () -> CheckoutDeepLink.open(
+            session.driver(), "standard_user", CheckoutDeepLink.CheckoutStep.OVERVIEW, 4));
+
+        assertTrue(e.getMessage().contains("OVERVIEW"), e.getMessage());
+        assertEquals(session.cookies.get(0).getName(), LoginPage.SESSION_COOKIE);
+        assertEquals(session.cookies.get(0).getValue(), "standard_user");
+    }
+
+    @Test(description = "Test a cookie the browser rejects stops the deep link before navigating")
+    public void testRejectedCookie() {
+        StubSession session = new StubSession(true, "https://www.saucedemo.com/");
+
+        assertThrows(UnableToSetCookieException.class, () -> CheckoutDeepLink.open(
+            session.driver(), "standard_user", CheckoutDeepLink.CheckoutStep.INFORMATION));
+
+        assertTrue(session.visited.isEmpty(), "No checkout URL should be opened without a session");
+    }
+
+    /**
+     * WebDriver stub that records cookies and navigations and stays on a fixed URL
+     */
+    private static class StubSession {
+        final List<Cookie> cookies = new ArrayList<>();
+        final List<String> visited = new ArrayList<>();
+        private final boolean rejectCookies;
+        private final String currentUrl;
+
+        StubSession(boolean rejectCookies, String currentUrl) {
+            this.rejectCookies = rejectCookies;
+            this.currentUrl = currentUrl;
+        }
+
+        WebDriver driver() {
+            WebDriver.Options options = (WebDriver.Options) Proxy.newProxyInstance(
+                CheckoutDeepLinkTest.class.getClassLoader(), new Class<?>[]{WebDriver.Options.class},
+                (proxy, method, args) -> {
+                    if ("addCookie".equals(method.getName())) {
+                        if (rejectCookies) {
+                            throw new UnableToSetCookieException("invalid cookie domain");
+                        }
+                        cookies.add((Cookie) args[0]);
+                    }
+                    return null;
+                });
+            return (WebDriver) Proxy.newProxyInstance(CheckoutDeepLinkTest.class.getClassLoader(),
+                new Class<?>[]{WebDriver.class, JavascriptExecutor.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "manage":
+                            return options;
+                        case "get":
+                            visited.add((String) args[0]);
+                            return null;
+                        case "getCurrentUrl":
+                            return currentUrl;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                });
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.ecommerce.state;
+
+import java.util.Objects;
+
+/**
+ * A catalog product as the application identifies it in its cart state
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public final class Product {
+
+    private final int id;
+    private final String name;
+    private final long priceCents;
+
+    public Product(int id, String name, long priceCents) {
+        this.id = id;
+        this.name = name;
+        this.priceCents = priceCents;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getPriceCents() {
+        return priceCents;
+    }
+
+    public double getPrice() {
+        return priceCents / 100.0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Product)) return false;
+        Product other = (Product) o;
+        return id == other.id && priceCents == other.priceCents && name.equals(other.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, priceCents);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("#%d %s $%d.%02d", id, name, priceCents / 100, priceCents % 100);
+    }
+}
@@ -0,0 +1,60 @@
+package com.ecommerce.state;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Product Catalog - Product id to name and price, learned once per suite
+ *
+ * The catalog is static for the application under test, so products are
+ * recorded the first time any page shows them (see CartInspector) and
+ * shared by all tests and threads afterwards.
+ *
+ * Thread-safe singleton pattern.
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class ProductCatalog {
+
+    private static volatile ProductCatalog instance;
+
+    private final Map<Integer, Product> products = new ConcurrentHashMap<>();
+
+    ProductCatalog() {
+    }
+
+    /**
+     * Get the singleton instance of ProductCatalog
+     *
+     * @return the ProductCatalog instance
+     */
+    public static ProductCatalog getInstance() {
+        if (instance == null) {
+            synchronized (ProductCatalog.class) {
+                if (instance == null) {
+                    instance = new ProductCatalog();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public void record(Product product) {
+        products.put(product.getId(), product);
+    }
+
+    public Optional<Product> find(int id) {
+        return Optional.ofNullable(products.get(id));
+    }
+
+    public Set<Integer> getKnownIds() {
+        return Set.copyOf(products.keySet());
+    }
+
+    public int size() {
+        return products.size();
+    }
+}
@@ -5,32 +5,38 @@ import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.ecommerce.config.ConfigManager;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.ecommerce.driver.BrowserContextManager;
+import com.ecommerce.driver.CommandTimer;
+import com.ecommerce.driver.DriverLease;
+import com.ecommerce.driver.DriverPool;
+import com.ecommerce.driver.NavigationTracker;
+import com.ecommerce.driver.SessionKey;
+import com.ecommerce.driver.SessionWatchdog;
+import com.ecommerce.execution.AdaptiveConcurrencyLimiter;
+import com.ecommerce.grid.GridHttpClientFactory;
+import com.ecommerce.metrics.LatencyHistogram;
+import com.ecommerce.pages.base.ElementCache;
+import com.ecommerce.wait.WaitEngine;
 import io.qameta.allure.Allure;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.edge.EdgeDriver;
-import org.openqa.selenium.edge.EdgeOptions;
-import org.openqa.selenium.firefox.FirefoxDriver;
-import org.openqa.selenium.firefox.FirefoxOptions;
-import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.ITestResult;
 import org.testng.annotations.*;
 
 import java.io.ByteArrayInputStream;
-import java.net.MalformedURLException;
-import java.net.URL;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Base Test Class - Foundation for all test classes
@@ -44,13 +50,17 @@ public class BaseTest {
     
     private static final Logger log = LogManager.getLogger(BaseTest.class);
     
-    // ThreadLocal for thread-safe driver management
-    private static final ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
-    private static final ThreadLocal<WebDriverWait> waitThreadLocal = new ThreadLocal<>();
-    private static final ThreadLocal<ExtentTest> extentTestThreadLocal = new ThreadLocal<>();
+    // Per-test state for the thread running the test method
+    // Set in setUp and removed in tearDown, so pooled threads never leak it
+    private static final ThreadLocal<TestContext> testContext = new ThreadLocal<>();
+    
+    // Session acquisition, measured separately from test execution time
+    private static final LatencyHistogram sessionAcquireTimes = new LatencyHistogram("session.acquire.ms");
+    private static final AtomicInteger browserlessTests = new AtomicInteger();
+    private static final AtomicInteger failedLeases = new AtomicInteger();
     
     // Test metrics for reliability tracking
-    private static final Map<String, TestMetrics> testMetricsMap = new HashMap<>();
+    private static final Map<String, TestMetrics> testMetricsMap = new ConcurrentHashMap<>();
     
     protected ConfigManager config;
     protected static ExtentReports extent;
@@ -59,12 +69,23 @@ public class BaseTest {
             .format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
     
     @BeforeSuite(alwaysRun = true)
-    public void beforeSuite() {
+    @Parameters({"browser"})
+    public void beforeSuite(@Optional("chrome") String browser) {
         log.info("╔════════════════════════════════════════════╗");
         log.info("║     E-COMMERCE TEST SUITE STARTED          ║");
         log.info("╚════════════════════════════════════════════╝");
         config = ConfigManager.getInstance();
         setupExtentReports();
+        
+        // Open browser sessions in the background while TestNG starts the first wave
+        DriverPool.getInstance().warmUp(SessionKey.forBrowser(browser, config),
+            config.getInt("driver.pool.warmup.size", 0));
+        
+        // Track grid capacity so surplus tests queue here, not in session creation
+        AdaptiveConcurrencyLimiter.getInstance().start();
+        
+        // Heartbeat leased sessions and recycle hung ones
+        SessionWatchdog.getInstance().start();
     }
     
     @BeforeMethod(alwaysRun = true)
@@ -83,116 +104,47 @@ public class BaseTest {
         // Create ExtentTest
         ExtentTest test = extent.createTest(result.getMethod().getMethodName());
         test.assignCategory(getTestGroups(result));
-        extentTestThreadLocal.set(test);
         
-        // Initialize WebDriver (Local or Grid)
-        initializeDriver(browser);
-        
-        // Navigate to base URL
-        getDriver().get(config.getProperty("base.url"));
-        log.info("Navigated to: {}", config.getProperty("base.url"));
+        // WebDriver is leased on the first getDriver() call, so tests
+        // that never touch the browser cost no session
+        testContext.set(new TestContext(browser, test));
     }
     
     /**
-     * Initialize WebDriver - supports both local and Selenium Grid
+     * Initialize WebDriver - waits for a free grid slot, then leases a
+     * session from the DriverPool (parked on base URL)
+     * With driver.isolation=context the test gets a fresh browser context
+     * inside a worker browser shared with other running tests
+     * Supports both local and Selenium Grid execution
      */
-    private void initializeDriver(String browserName) {
-        WebDriver webDriver;
-        boolean isHeadless = config.getBoolean("headless", false);
-        boolean useGrid = config.getBoolean("selenium.grid", false);
-        String gridUrl = config.getProperty("selenium.grid.url", "http://localhost:4444/wd/hub");
-        
-        // Check for environment variable override (Docker)
-        String envGridUrl = System.getenv("SELENIUM_GRID_URL");
-        if (envGridUrl != null && !envGridUrl.isEmpty()) {
-            useGrid = true;
-            gridUrl = envGridUrl;
+    private static WebDriver initializeDriver(TestContext context) {
+        long start = System.currentTimeMillis();
+        ConfigManager config = ConfigManager.getInstance();
+        context.leaseAttempted = true;
+        // A retry after a failed lease keeps the slot it already holds
+        if (!context.permit) {
+            AdaptiveConcurrencyLimiter.getInstance().acquire();
+            context.permit = true;
         }
         
-        if (useGrid) {
-            webDriver = createRemoteDriver(browserName, gridUrl, isHeadless);
-            log.info("Using Selenium Grid at: {}", gridUrl);
-        } else {
-            webDriver = createLocalDriver(browserName, isHeadless);
-            log.info("Using local WebDriver");
-        }
+        SessionKey key = SessionKey.forBrowser(context.browser, config);
+        DriverLease lease = "context".equalsIgnoreCase(config.getProperty("driver.isolation", "session"))
+            ? BrowserContextManager.getInstance().openContext(key)
+            : DriverPool.getInstance().lease(key);
+        // Commands are timed per command, calling page method and grid node;
+        // navigations are counted so page element caches know when to re-find
+        WebDriver webDriver = CommandTimer.getInstance().instrument(lease.getDriver(),
+            NavigationTracker.getInstance().listenerFor(lease.getDriver()));
         
-        // Configure driver
-        webDriver.manage().window().maximize();
-        webDriver.manage().timeouts().implicitlyWait(
-            Duration.ofSeconds(config.getInt("implicit.wait", 10)));
-        webDriver.manage().timeouts().pageLoadTimeout(
-            Duration.ofSeconds(config.getInt("page.load.timeout", 30)));
+        // Store in the test context
+        context.lease = lease;
+        context.driver = webDriver;
         
-        // Store in ThreadLocal
-        driverThreadLocal.set(webDriver);
-        waitThreadLocal.set(new WebDriverWait(webDriver, 
-            Duration.ofSeconds(config.getInt("explicit.wait", 20))));
-        
-        log.info("Driver initialized: {} (Grid: {})", browserName, useGrid);
-    }
-    
-    /**
-     * Create Remote WebDriver for Selenium Grid
-     */
-    private WebDriver createRemoteDriver(String browserName, String gridUrl, boolean isHeadless) {
-        try {
-            URL hubUrl = new URL(gridUrl);
-            
-            switch (browserName.toLowerCase()) {
-                case "firefox":
-                    FirefoxOptions ffOptions = new FirefoxOptions();
-                    if (isHeadless) ffOptions.addArguments("--headless");
-                    return new RemoteWebDriver(hubUrl, ffOptions);
-                    
-                case "edge":
-                    EdgeOptions edgeOptions = new EdgeOptions();
-                    if (isHeadless) edgeOptions.addArguments("--headless");
-                    return new RemoteWebDriver(hubUrl, edgeOptions);
-                    
-                case "chrome":
-                default:
-                    ChromeOptions chromeOptions = new ChromeOptions();
-                    if (isHeadless) chromeOptions.addArguments("--headless");
-                    chromeOptions.addArguments("--disable-dev-shm-usage");
-                    chromeOptions.addArguments("--no-sandbox");
-                    chromeOptions.addArguments("--window-size=1920,1080");
-                    chromeOptions.addArguments("--disable-gpu");
-                    return new RemoteWebDriver(hubUrl, chromeOptions);
-            }
-        } catch (MalformedURLException e) {
-            log.error("Invalid Selenium Grid URL: {}", gridUrl);
-            throw new RuntimeException("Invalid Selenium Grid URL", e);
-        }
-    }
-    
-    /**
-     * Create Local WebDriver
-     */
-    private WebDriver createLocalDriver(String browserName, boolean isHeadless) {
-        switch (browserName.toLowerCase()) {
-            case "firefox":
-                WebDriverManager.firefoxdriver().setup();
-                FirefoxOptions ffOptions = new FirefoxOptions();
-                if (isHeadless) ffOptions.addArguments("--headless");
-                return new FirefoxDriver(ffOptions);
-                
-            case "edge":
-                WebDriverManager.edgedriver().setup();
-                EdgeOptions edgeOptions = new EdgeOptions();
-                if (isHeadless) edgeOptions.addArguments("--headless");
-                return new EdgeDriver(edgeOptions);
-                
-            case "chrome":
-            default:
-                WebDriverManager.chromedriver().setup();
-                ChromeOptions chromeOptions = new ChromeOptions();
-                if (isHeadless) chromeOptions.addArguments("--headless");
-                chromeOptions.addArguments("--disable-dev-shm-usage");
-                chromeOptions.addArguments("--no-sandbox");
-                chromeOptions.addArguments("--window-size=1920,1080");
-                return new ChromeDriver(chromeOptions);
-        }
+        long acquireMillis = System.currentTimeMillis() - start;
+        sessionAcquireTimes.record(acquireMillis);
+        context.extentTest.info("Browser session acquired in " + acquireMillis + "ms");
+        log.info("Driver initialized: {} (Grid: {}) in {} ms", context.browser, key.isRemote(), acquireMillis);
+        return webDriver;
     }
     
     @AfterMethod(alwaysRun = true)
@@ -215,7 +167,7 @@ public class BaseTest {
             }
         } finally {
             // CRITICAL: Clean up resources
-            cleanupDriver();
+            cleanupDriver(result.getStatus() == ITestResult.FAILURE);
         }
     }
     
@@ -224,34 +176,52 @@ public class BaseTest {
      */
     private void trackTestMetrics(String testName, int status, long duration) {
         TestMetrics metrics = testMetricsMap.computeIfAbsent(testName, k -> new TestMetrics());
-        metrics.totalRuns++;
-        metrics.totalDuration += duration;
-        
-        if (status == ITestResult.SUCCESS) {
-            metrics.passCount++;
-        } else if (status == ITestResult.FAILURE) {
-            metrics.failCount++;
+        synchronized (metrics) {
+            metrics.totalRuns++;
+            metrics.totalDuration += duration;
+            
+            if (status == ITestResult.SUCCESS) {
+                metrics.passCount++;
+            } else if (status == ITestResult.FAILURE) {
+                metrics.failCount++;
+            }
         }
     }
     
     /**
-     * Clean up driver and ThreadLocal references
+     * Return driver to the pool and clean up the test context
+     * Failed tests never hand their session to another test
      */
-    private void cleanupDriver() {
-        WebDriver driver = driverThreadLocal.get();
-        if (driver != null) {
+    private void cleanupDriver(boolean failed) {
+        TestContext context = testContext.get();
+        if (context == null) {
+            return;
+        }
+        DriverLease lease = context.lease;
+        if (lease != null) {
             try {
-                driver.quit();
-                log.info("Driver closed");
+                if (lease.isBrowserContext()) {
+                    BrowserContextManager.getInstance().closeContext(lease, failed);
+                } else {
+                    DriverPool.getInstance().release(lease, failed);
+                }
             } catch (Exception e) {
-                log.warn("Error closing driver: {}", e.getMessage());
-            } finally {
-                // IMPORTANT: Remove ThreadLocal references to prevent memory leak
-                driverThreadLocal.remove();
-                waitThreadLocal.remove();
-                extentTestThreadLocal.remove();
+                log.warn("Error releasing driver: {}", e.getMessage());
             }
+        } else if (context.leaseAttempted) {
+            // Asked for a browser but never got one; not a browserless test
+            failedLeases.incrementAndGet();
+        } else {
+            browserlessTests.incrementAndGet();
+        }
+        
+        // Free the concurrency slot only once the session is back in the pool
+        if (context.permit) {
+            AdaptiveConcurrencyLimiter.getInstance().release();
         }
+        
+        // IMPORTANT: Remove the context to prevent memory leak on pooled threads
+        testContext.remove();
     }
     
     @AfterSuite(alwaysRun = true)
@@ -259,6 +229,33 @@ public class BaseTest {
         // Log reliability metrics
         logReliabilityMetrics();
         
+        // Quit all pooled sessions
+        AdaptiveConcurrencyLimiter.getInstance().stop();
+        String concurrency = AdaptiveConcurrencyLimiter.getInstance().getMetricsSummary();
+        log.info(concurrency);
+        Allure.addAttachment("Adaptive Concurrency", concurrency);
+        SessionWatchdog.getInstance().stop();
+        String watchdogReport = SessionWatchdog.getInstance().getReport();
+        log.info(watchdogReport);
+        Allure.addAttachment("Session Watchdog", watchdogReport);
+        DriverPool.getInstance().shutdown();
+        Allure.addAttachment("Driver Pool Metrics", DriverPool.getInstance().getMetricsSummary());
+        String commandTiming = CommandTimer.getInstance().getMetricsSummary();
+        log.info(commandTiming);
+        Allure.addAttachment("WebDriver Command Latency", commandTiming);
+        String waitTiming = WaitEngine.getInstance().getMetricsSummary();
+        log.info(waitTiming);
+        Allure.addAttachment("Wait Timing", waitTiming);
+        String elementCache = ElementCache.getMetricsSummary();
+        log.info(elementCache);
+        Allure.addAttachment("Element Cache", elementCache);
+        if (SessionKey.forBrowser("chrome", ConfigManager.getInstance()).isRemote()) {
+            String commandLatency = GridHttpClientFactory.getInstance().getMetricsSummary();
+            log.info(commandLatency);
+            Allure.addAttachment("Grid Command Latency", commandLatency);
+            GridHttpClientFactory.getInstance().shutdown();
+        }
+        
         log.info("╔════════════════════════════════════════════╗");
         log.info("║     E-COMMERCE TEST SUITE COMPLETED        ║");
         log.info("╚════════════════════════════════════════════╝");
@@ -291,6 +288,9 @@ public class BaseTest {
         log.info("│ Passed: {} | Failed: {}", totalPassed, totalTests - totalPassed);
         log.info("│ Suite Reliability: {:.2f}%", reliability);
         log.info("│ Total Duration: {} ms", totalDuration);
+        log.info("│ {}", sessionAcquireTimes.summary());
+        log.info("│ Tests without a browser session: {}", browserlessTests.get());
+        log.info("│ Tests whose session lease failed: {}", failedLeases.get());
         log.info("└─────────────────────────────────────────────");
         
         // Add to Allure
@@ -315,7 +315,7 @@ public class BaseTest {
     }
     
     private void captureScreenshot(ITestResult result) {
-        WebDriver driver = getDriver();
+        WebDriver driver = getActiveDriver();
         if (driver != null && config.getBoolean("screenshot.on.failure", true)) {
             try {
                 byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
@@ -369,16 +369,92 @@ public class BaseTest {
     }
     
     // Static getters for thread-safe access
+    /**
+     * Get this thread's WebDriver, leasing the session on first use
+     */
     public static WebDriver getDriver() {
-        return driverThreadLocal.get();
+        TestContext context = testContext.get();
+        if (context == null) {
+            return null;
+        }
+        if (context.driver == null) {
+            initializeDriver(context);
+        }
+        return context.driver;
     }
     
+    /**
+     * Get this thread's WebDriver only if the test already started one
+     * (for screenshots and cleanup, which must not lease a session)
+     */
+    public static WebDriver getActiveDriver() {
+        TestContext context = testContext.get();
+        return context != null ? context.driver : null;
+    }
+    
+    /**
+     * Get this thread's WebDriverWait
+     * The session is leased when the wait first evaluates a condition,
+     * not when the wait is created
+     */
     public static WebDriverWait getWait() {
-        return waitThreadLocal.get();
+        TestContext context = testContext.get();
+        if (context == null) {
+            return null;
+        }
+        if (context.wait == null) {
+            context.wait = new WebDriverWait(lazyDriver(context),
+                Duration.ofSeconds(ConfigManager.getInstance().getInt("explicit.wait", 20)));
+        }
+        return context.wait;
+    }
+    
+    /**
+     * A WebDriver that leases the test's session on its first command
+     */
+    private static WebDriver lazyDriver(TestContext context) {
+        return (WebDriver) Proxy.newProxyInstance(BaseTest.class.getClassLoader(),
+            new Class<?>[]{WebDriver.class, JavascriptExecutor.class, TakesScreenshot.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    case "toString":
+                        return "LazyDriver(" + context.browser + ")";
+                    default:
+                        WebDriver driver = context.driver != null ? context.driver : initializeDriver(context);
+                        try {
+                            return method.invoke(driver, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                }
+            });
     }
     
     public static ExtentTest getExtentTest() {
-        return extentTestThreadLocal.get();
+        TestContext context = testContext.get();
+        return context != null ? context.extentTest : null;
+    }
+    
+    /**
+     * State of the test running on the current thread
+     */
+    private static class TestContext {
+        final String browser;
+        final ExtentTest extentTest;
+        DriverLease lease;
+        WebDriver driver;
+        WebDriverWait wait;
+        boolean permit;
+        boolean leaseAttempted;
+        
+        TestContext(String browser, ExtentTest extentTest) {
+            this.browser = browser;
+            this.extentTest = extentTest;
+        }
     }
     
     /**
@@ -4,6 +4,7 @@ import com.ecommerce.listeners.RetryAnalyzer;
 import com.ecommerce.pages.CartPage;
 import com.ecommerce.pages.HomePage;
 import com.ecommerce.pages.LoginPage;
+import com.ecommerce.state.CartInspector;
 import com.ecommerce.tests.base.BaseTest;
 import io.qameta.allure.*;
 import org.apache.logging.log4j.LogManager;
@@ -35,10 +36,7 @@ public class CartTest extends BaseTest {
     @BeforeMethod(alwaysRun = true)
     public void setUpTest() {
         loginPage = new LoginPage(getDriver());
-        homePage = loginPage.login(
-            config.getProperty("standard.user", "standard_user"),
-            config.getProperty("test.password", "secret_sauce")
-        );
+        homePage = loginPage.fastLogin(config.getProperty("standard.user", "standard_user"));
         log.info("Cart test setup completed - User logged in");
     }
     
@@ -85,12 +83,14 @@ public class CartTest extends BaseTest {
     public void testAddMultipleProductsToCart() {
         log.info("TC-CART-003: Testing add multiple products");
         
-        homePage.addProductToCart("Sauce Labs Backpack");
-        homePage.addProductToCart("Sauce Labs Bike Light");
-        homePage.addProductToCart("Sauce Labs Bolt T-Shirt");
+        homePage.addProductsToCart(List.of("Sauce Labs Backpack", "Sauce Labs Bike Light",
+            "Sauce Labs Bolt T-Shirt"));
         
         Assert.assertEquals(homePage.getCartItemCount(), 3, 
             "Cart should have 3 items");
+        Assert.assertEqualsNoOrder(CartInspector.inspect(getDriver()).getItemNames().toArray(),
+            new Object[]{"Sauce Labs Backpack", "Sauce Labs Bike Light", "Sauce Labs Bolt T-Shirt"},
+            "Cart should hold the added products");
     }
     
     @Test(priority = 4, groups = {"regression"}, retryAnalyzer = RetryAnalyzer.class)
@@ -203,13 +203,11 @@ public class CartTest extends BaseTest {
     public void testAddAllProductsToCart() {
         log.info("TC-CART-010: Testing add all products");
         
-        int productCount = homePage.getProductCount();
+        List<String> productNames = homePage.getAllProductNames();
         
-        for (int i = 0; i < productCount; i++) {
-            homePage.addProductToCart(i);
-        }
+        homePage.addProductsToCart(productNames);
         
-        Assert.assertEquals(homePage.getCartItemCount(), productCount, 
+        Assert.assertEquals(homePage.getCartItemCount(), productNames.size(), 
             "All products should be in cart");
     }
 }
@@ -2,6 +2,8 @@ package com.ecommerce.tests.ui;
 
 import com.ecommerce.listeners.RetryAnalyzer;
 import com.ecommerce.pages.*;
+import com.ecommerce.state.CheckoutDeepLink;
+import com.ecommerce.state.CheckoutDeepLink.CheckoutStep;
 import com.ecommerce.tests.base.BaseTest;
 import com.ecommerce.utils.TestDataProvider;
 import io.qameta.allure.*;
@@ -27,23 +29,15 @@ public class CheckoutTest extends BaseTest {
     
     private static final Logger log = LogManager.getLogger(CheckoutTest.class);
     
-    private LoginPage loginPage;
-    private HomePage homePage;
-    private CartPage cartPage;
+    // App product id of Sauce Labs Backpack
+    private static final int BACKPACK_ID = 4;
+    
     private CheckoutPage checkoutPage;
     
     @BeforeMethod(alwaysRun = true)
     public void setUpTest() {
-        loginPage = new LoginPage(getDriver());
-        homePage = loginPage.login(
-            config.getProperty("standard.user", "standard_user"),
-            config.getProperty("test.password", "secret_sauce")
-        );
-        
-        // Add a product to cart for checkout tests
-        homePage.addProductToCart("Sauce Labs Backpack");
-        cartPage = homePage.goToCart();
-        checkoutPage = cartPage.proceedToCheckout();
+        // Logged in with a product in the cart, opened directly on the information step
+        checkoutPage = CheckoutDeepLink.open(getDriver(), CheckoutStep.INFORMATION, BACKPACK_ID);
         
         log.info("Checkout test setup completed");
     }
@@ -30,10 +30,7 @@ public class NavigationTest extends BaseTest {
     @BeforeMethod(alwaysRun = true)
     public void setUpTest() {
         loginPage = new LoginPage(getDriver());
-        homePage = loginPage.login(
-            config.getProperty("standard.user", "standard_user"),
-            config.getProperty("test.password", "secret_sauce")
-        );
+        homePage = loginPage.fastLogin(config.getProperty("standard.user", "standard_user"));
         log.info("Navigation test setup completed");
     }
     
@@ -3,6 +3,7 @@ package com.ecommerce.tests.ui;
 import com.ecommerce.listeners.RetryAnalyzer;
 import com.ecommerce.pages.HomePage;
 import com.ecommerce.pages.LoginPage;
+import com.ecommerce.pages.SortVerification;
 import com.ecommerce.tests.base.BaseTest;
 import io.qameta.allure.*;
 import org.apache.logging.log4j.LogManager;
@@ -11,9 +12,7 @@ import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
-import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Product Test Class - Product listing and display tests
@@ -35,10 +34,7 @@ public class ProductTest extends BaseTest {
     @BeforeMethod(alwaysRun = true)
     public void setUpTest() {
         loginPage = new LoginPage(getDriver());
-        homePage = loginPage.login(
-            config.getProperty("standard.user", "standard_user"),
-            config.getProperty("test.password", "secret_sauce")
-        );
+        homePage = loginPage.fastLogin(config.getProperty("standard.user", "standard_user"));
         log.info("Product test setup completed");
     }
     
@@ -114,13 +110,10 @@ public class ProductTest extends BaseTest {
         
         homePage.sortProducts(HomePage.SortOption.NAME_A_TO_Z);
         
-        List<String> productNames = homePage.getAllProductNames();
-        List<String> sortedNames = productNames.stream()
-            .sorted()
-            .collect(Collectors.toList());
+        SortVerification order = homePage.verifySortOrder(HomePage.SortOption.NAME_A_TO_Z);
         
-        Assert.assertEquals(productNames, sortedNames, 
-            "Products should be sorted A to Z");
+        Assert.assertTrue(order.isSorted(), 
+            "Products should be sorted A to Z: " + order);
     }
     
     @Test(priority = 6, groups = {"regression"}, retryAnalyzer = RetryAnalyzer.class)
@@ -132,13 +125,10 @@ public class ProductTest extends BaseTest {
         
         homePage.sortProducts(HomePage.SortOption.NAME_Z_TO_A);
         
-        List<String> productNames = homePage.getAllProductNames();
-        List<String> sortedNames = productNames.stream()
-            .sorted(Collections.reverseOrder())
-            .collect(Collectors.toList());
+        SortVerification order = homePage.verifySortOrder(HomePage.SortOption.NAME_Z_TO_A);
         
-        Assert.assertEquals(productNames, sortedNames, 
-            "Products should be sorted Z to A");
+        Assert.assertTrue(order.isSorted(), 
+            "Products should be sorted Z to A: " + order);
     }
     
     @Test(priority = 7, groups = {"regression"}, retryAnalyzer = RetryAnalyzer.class)
@@ -150,13 +140,10 @@ public class ProductTest extends BaseTest {
         
         homePage.sortProducts(HomePage.SortOption.PRICE_LOW_TO_HIGH);
         
-        List<Double> prices = homePage.getAllProductPrices();
-        List<Double> sortedPrices = prices.stream()
-            .sorted()
-            .collect(Collectors.toList());
+        SortVerification order = homePage.verifySortOrder(HomePage.SortOption.PRICE_LOW_TO_HIGH);
         
-        Assert.assertEquals(prices, sortedPrices, 
-            "Products should be sorted by price low to high");
+        Assert.assertTrue(order.isSorted(), 
+            "Products should be sorted by price low to high: " + order);
     }
     
     @Test(priority = 8, groups = {"regression"}, retryAnalyzer = RetryAnalyzer.class)
@@ -168,13 +155,10 @@ public class ProductTest extends BaseTest {
         
         homePage.sortProducts(HomePage.SortOption.PRICE_HIGH_TO_LOW);
         
-        List<Double> prices = homePage.getAllProductPrices();
-        List<Double> sortedPrices = prices.stream()
-            .sorted(Collections.reverseOrder())
-            .collect(Collectors.toList());
+        SortVerification order = homePage.verifySortOrder(HomePage.SortOption.PRICE_HIGH_TO_LOW);
         
-        Assert.assertEquals(prices, sortedPrices, 
-            "Products should be sorted by price high to low");
+        Assert.assertTrue(order.isSorted(), 
+            "Products should be sorted by price high to low: " + order);
     }
     
     @Test(priority = 9, groups = {"regression"}, retryAnalyzer = RetryAnalyzer.class)
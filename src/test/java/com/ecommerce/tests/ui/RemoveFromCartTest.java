@@ -4,19 +4,23 @@ import com.ecommerce.listeners.RetryAnalyzer;
 import com.ecommerce.pages.CartPage;
 import com.ecommerce.pages.HomePage;
 import com.ecommerce.pages.LoginPage;
+import com.ecommerce.state.AppStateFixtures;
+import com.ecommerce.state.CartContents;
+import com.ecommerce.state.CartInspector;
 import com.ecommerce.tests.base.BaseTest;
 import io.qameta.allure.*;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.testng.Assert;
-import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.List;
+
 /**
  * Remove From Cart Test Class
  * Tests for removing items from shopping cart
  * 
- * Test Count: 8
+ * Test Count: 9
  * 
  * @author QA Team
  * @version 1.0
@@ -31,14 +35,14 @@ public class RemoveFromCartTest extends BaseTest {
     private HomePage homePage;
     private CartPage cartPage;
     
-    @BeforeMethod(alwaysRun = true)
-    public void setUpTest() {
+    /**
+     * Log in and open the inventory page, for tests that start from an
+     * empty cart; tests with a cart precondition restore a fixture instead
+     */
+    private void loginToInventory() {
         loginPage = new LoginPage(getDriver());
-        homePage = loginPage.login(
-            config.getProperty("standard.user", "standard_user"),
-            config.getProperty("test.password", "secret_sauce")
-        );
-        log.info("Remove from cart test setup completed");
+        homePage = loginPage.fastLogin(config.getProperty("standard.user", "standard_user"));
+        log.info("Logged in with an empty cart");
     }
     
     @Test(priority = 1, groups = {"smoke", "regression"}, retryAnalyzer = RetryAnalyzer.class)
@@ -48,6 +52,7 @@ public class RemoveFromCartTest extends BaseTest {
     public void testRemoveProductFromProductPage() {
         log.info("TC-REM-001: Testing remove from product page");
         
+        loginToInventory();
         homePage.addProductToCart("Sauce Labs Backpack");
         Assert.assertEquals(homePage.getCartItemCount(), 1, "Cart should have 1 item");
         
@@ -62,8 +67,8 @@ public class RemoveFromCartTest extends BaseTest {
     public void testRemoveProductFromCartPage() {
         log.info("TC-REM-002: Testing remove from cart page");
         
-        homePage.addProductToCart("Sauce Labs Backpack");
-        cartPage = homePage.goToCart();
+        AppStateFixtures.LOGGED_IN_WITH_BACKPACK.restore(getDriver(), "/cart.html");
+        cartPage = new CartPage(getDriver());
         
         Assert.assertTrue(cartPage.isProductInCart("Sauce Labs Backpack"), "Product should be in cart");
         
@@ -80,6 +85,7 @@ public class RemoveFromCartTest extends BaseTest {
     public void testRemoveOneProductKeepsOthers() {
         log.info("TC-REM-003: Testing remove one keeps others");
         
+        loginToInventory();
         homePage.addProductToCart("Sauce Labs Backpack");
         homePage.addProductToCart("Sauce Labs Bike Light");
         homePage.addProductToCart("Sauce Labs Bolt T-Shirt");
@@ -100,8 +106,8 @@ public class RemoveFromCartTest extends BaseTest {
     public void testRemoveAllProducts() {
         log.info("TC-REM-004: Testing remove all products");
         
-        homePage.addProductToCart("Sauce Labs Backpack");
-        homePage.addProductToCart("Sauce Labs Bike Light");
+        AppStateFixtures.LOGGED_IN_WITH_BACKPACK_AND_BIKE_LIGHT.restore(getDriver(), "/inventory.html");
+        homePage = new HomePage(getDriver());
         
         homePage.removeProductFromCart("Sauce Labs Backpack");
         homePage.removeProductFromCart("Sauce Labs Bike Light");
@@ -117,10 +123,8 @@ public class RemoveFromCartTest extends BaseTest {
         log.info("TC-REM-005: Testing cart total updates");
         
         // Backpack = $29.99, Bike Light = $9.99
-        homePage.addProductToCart("Sauce Labs Backpack");
-        homePage.addProductToCart("Sauce Labs Bike Light");
-        
-        cartPage = homePage.goToCart();
+        AppStateFixtures.LOGGED_IN_WITH_BACKPACK_AND_BIKE_LIGHT.restore(getDriver(), "/cart.html");
+        cartPage = new CartPage(getDriver());
         double totalBefore = cartPage.getCartTotal();
         Assert.assertEquals(totalBefore, 39.98, 0.01, "Total should be $39.98");
         
@@ -137,6 +141,7 @@ public class RemoveFromCartTest extends BaseTest {
     public void testButtonChangesAfterRemoval() {
         log.info("TC-REM-006: Testing button changes after removal");
         
+        loginToInventory();
         homePage.addProductToCart("Sauce Labs Backpack");
         Assert.assertTrue(homePage.isProductInCart("Sauce Labs Backpack"), 
             "Should show Remove button");
@@ -153,6 +158,7 @@ public class RemoveFromCartTest extends BaseTest {
     public void testReAddAfterRemoval() {
         log.info("TC-REM-007: Testing re-add after removal");
         
+        loginToInventory();
         homePage.addProductToCart("Sauce Labs Backpack");
         Assert.assertEquals(homePage.getCartItemCount(), 1, "Cart should have 1 item");
         
@@ -170,19 +176,38 @@ public class RemoveFromCartTest extends BaseTest {
     public void testRemovalPersistsAfterNavigation() {
         log.info("TC-REM-008: Testing removal persists");
         
-        homePage.addProductToCart("Sauce Labs Backpack");
-        homePage.addProductToCart("Sauce Labs Bike Light");
-        
-        cartPage = homePage.goToCart();
+        AppStateFixtures.LOGGED_IN_WITH_BACKPACK_AND_BIKE_LIGHT.restore(getDriver(), "/cart.html");
+        cartPage = new CartPage(getDriver());
         cartPage.removeProduct("Sauce Labs Backpack");
         
         homePage = cartPage.continueShopping();
-        cartPage = homePage.goToCart();
         
+        // Fast precondition: the removal reached the persisted cart
+        CartContents cart = CartInspector.inspect(getDriver());
+        Assert.assertEquals(cart.getItemCount(), 1, "Stored cart should still have 1 item");
+        Assert.assertFalse(cart.contains("Sauce Labs Backpack"), 
+            "Removed product should stay removed from the stored cart");
+        
+        // What the user sees after coming back to the cart
+        cartPage = homePage.goToCart();
         Assert.assertEquals(cartPage.getCartItemCount(), 1, "Cart should still have 1 item");
         Assert.assertFalse(cartPage.isProductInCart("Sauce Labs Backpack"), 
             "Removed product should stay removed");
         Assert.assertTrue(cartPage.isProductInCart("Sauce Labs Bike Light"), 
             "Other product should remain");
     }
+    
+    @Test(priority = 9, groups = {"regression"}, retryAnalyzer = RetryAnalyzer.class)
+    @Description("Verify several products can be removed from the cart page at once")
+    @Severity(SeverityLevel.NORMAL)
+    @Story("Remove from Cart")
+    public void testRemoveMultipleFromCartPage() {
+        log.info("TC-REM-009: Testing bulk removal from cart page");
+        
+        AppStateFixtures.LOGGED_IN_WITH_BACKPACK_AND_BIKE_LIGHT.restore(getDriver(), "/cart.html");
+        cartPage = new CartPage(getDriver());
+        cartPage.removeProducts(List.of("Sauce Labs Backpack", "Sauce Labs Bike Light"));
+        
+        Assert.assertTrue(cartPage.isCartEmpty(), "Cart should be empty");
+    }
 }
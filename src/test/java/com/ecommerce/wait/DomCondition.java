@@ -0,0 +1,58 @@
+package com.ecommerce.wait;
+
+import org.openqa.selenium.WebElement;
+
+/**
+ * A page condition the browser can watch for itself
+ *
+ * Used by WaitEngine's event-driven mode: the condition is evaluated in
+ * the page and re-checked on every DOM mutation or readyState change,
+ * instead of being polled over WebDriver.
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public final class DomCondition {
+
+    private final String kind;
+    private final WebElement element;
+
+    private DomCondition(String kind, WebElement element) {
+        this.kind = kind;
+        this.element = element;
+    }
+
+    /**
+     * The element is rendered and not hidden
+     */
+    public static DomCondition visible(WebElement element) {
+        return new DomCondition("visible", element);
+    }
+
+    /**
+     * The element is visible and not disabled
+     */
+    public static DomCondition clickable(WebElement element) {
+        return new DomCondition("clickable", element);
+    }
+
+    /**
+     * document.readyState is complete
+     */
+    public static DomCondition documentReady() {
+        return new DomCondition("ready", null);
+    }
+
+    String getKind() {
+        return kind;
+    }
+
+    WebElement getElement() {
+        return element;
+    }
+
+    @Override
+    public String toString() {
+        return "dom:" + kind;
+    }
+}
@@ -0,0 +1,53 @@
+package com.ecommerce.wait;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-flight request bookkeeping for one browser tab
+ *
+ * Fed from network events; the tab is idle once no request is in flight
+ * and nothing started or finished for the quiet period. Requests open
+ * longer than the long-request threshold (long polling, analytics
+ * beacons) are treated as background traffic and do not block idleness.
+ *
+ * Thread-safe: events arrive on the DevTools connection thread.
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+final class NetworkActivity {
+
+    private final long longRequestNanos;
+    private final Map<String, Long> inFlight = new ConcurrentHashMap<>();
+    private volatile long lastActivityNanos;
+
+    NetworkActivity(long longRequestMillis, long nowNanos) {
+        this.longRequestNanos = TimeUnit.MILLISECONDS.toNanos(longRequestMillis);
+        this.lastActivityNanos = nowNanos;
+    }
+
+    void requestStarted(String requestId, long nowNanos) {
+        inFlight.putIfAbsent(requestId, nowNanos);
+        lastActivityNanos = nowNanos;
+    }
+
+    void requestFinished(String requestId, long nowNanos) {
+        if (inFlight.remove(requestId) != null) {
+            lastActivityNanos = nowNanos;
+        }
+    }
+
+    /**
+     * @return true if no foreground request is in flight and the network was quiet for quietMillis
+     */
+    boolean isIdle(long quietMillis, long nowNanos) {
+        boolean busy = inFlight.values().stream().anyMatch(started -> nowNanos - started < longRequestNanos);
+        return !busy && nowNanos - lastActivityNanos >= TimeUnit.MILLISECONDS.toNanos(quietMillis);
+    }
+
+    int getInFlightCount() {
+        return inFlight.size();
+    }
+}
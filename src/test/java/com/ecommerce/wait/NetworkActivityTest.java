@@ -0,0 +1,64 @@
+package com.ecommerce.wait;
+
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for NetworkActivity idle detection
+ * Time is passed in explicitly, so no browser or sleeping is needed
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class NetworkActivityTest {
+
+    private static long ms(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    @Test(description = "Test a request in flight keeps the network busy")
+    public void testBusyWhileRequestInFlight() {
+        NetworkActivity activity = new NetworkActivity(10000, 0);
+
+        activity.requestStarted("1", ms(100));
+
+        assertFalse(activity.isIdle(500, ms(2000)));
+        assertEquals(activity.getInFlightCount(), 1);
+    }
+
+    @Test(description = "Test idle only after the quiet period following the last response")
+    public void testIdleAfterQuietPeriod() {
+        NetworkActivity activity = new NetworkActivity(10000, 0);
+        activity.requestStarted("1", ms(100));
+        activity.requestStarted("2", ms(150));
+        activity.requestFinished("1", ms(300));
+        activity.requestFinished("2", ms(400));
+
+        assertFalse(activity.isIdle(500, ms(800)));
+        assertTrue(activity.isIdle(500, ms(900)));
+    }
+
+    @Test(description = "Test long-running requests count as background traffic")
+    public void testLongRequestIgnored() {
+        NetworkActivity activity = new NetworkActivity(5000, 0);
+        activity.requestStarted("poll", ms(0));
+
+        assertFalse(activity.isIdle(500, ms(4000)));
+        assertTrue(activity.isIdle(500, ms(6000)));
+    }
+
+    @Test(description = "Test redirects and unknown finishes do not skew the count")
+    public void testDuplicateAndUnknownEvents() {
+        NetworkActivity activity = new NetworkActivity(10000, 0);
+        activity.requestStarted("1", ms(100));
+        activity.requestStarted("1", ms(200));
+        activity.requestFinished("unknown", ms(5000));
+        activity.requestFinished("1", ms(300));
+
+        assertEquals(activity.getInFlightCount(), 0);
+        assertTrue(activity.isIdle(500, ms(800)));
+    }
+}
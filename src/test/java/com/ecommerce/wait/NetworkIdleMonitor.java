@@ -0,0 +1,220 @@
+package com.ecommerce.wait;
+
+import com.ecommerce.config.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.JsonInput;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+
+/**
+ * Network Idle Monitor - "Network idle for N ms" readiness signal
+ *
+ * document.readyState is complete long before the React app has loaded
+ * its data. The monitor subscribes to the CDP Network domain of each
+ * session (requestWillBeSent / loadingFinished / loadingFailed) and
+ * counts requests in flight, so a page transition can wait until the
+ * network has been quiet for wait.network.idle.ms, and no longer.
+ *
+ * Sessions are tracked from the first page object created on them, so
+ * requests a transition triggers are already being counted. Browsers
+ * without CDP (firefox, safari) fall back to waiting for readyState.
+ *
+ * Each session keeps one DevTools connection for its whole life (remote
+ * sessions are augmented once); switching tabs only re-attaches it. The
+ * DriverPool calls close() when it quits a session, which closes the
+ * connection.
+ *
+ * Thread-safe singleton pattern.
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class NetworkIdleMonitor {
+
+    private static final Logger log = LogManager.getLogger(NetworkIdleMonitor.class);
+
+    private static volatile NetworkIdleMonitor instance;
+
+    private final boolean enabled;
+    private final long quietMillis;
+    private final long longRequestMillis;
+
+    // Keyed weakly so sessions that were quit are dropped; empty Optional = no CDP on that session
+    private final Map<WebDriver, Optional<NetworkActivity>> sessions =
+        Collections.synchronizedMap(new WeakHashMap<>());
+
+    // One DevTools connection per session; augmenting a RemoteWebDriver is expensive
+    private final Map<WebDriver, DevTools> connections = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private NetworkIdleMonitor() {
+        ConfigManager config = ConfigManager.getInstance();
+        this.enabled = config.getBoolean("wait.network.enabled", true);
+        this.quietMillis = config.getLong("wait.network.idle.ms", 500);
+        this.longRequestMillis = config.getLong("wait.network.long.request.ms", 10000);
+    }
+
+    /**
+     * Get the singleton instance of NetworkIdleMonitor
+     *
+     * @return the NetworkIdleMonitor instance
+     */
+    public static NetworkIdleMonitor getInstance() {
+        if (instance == null) {
+            synchronized (NetworkIdleMonitor.class) {
+                if (instance == null) {
+                    instance = new NetworkIdleMonitor();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Start counting the session's requests (no-op if already tracked)
+     */
+    public void track(WebDriver driver) {
+        driver = unwrap(driver);
+        if (enabled && !sessions.containsKey(driver)) {
+            // Subscribe outside the map lock; it talks to the browser
+            sessions.putIfAbsent(driver, subscribe(driver));
+        }
+    }
+
+    /**
+     * Never track this session, e.g. a browser whose tabs belong to
+     * different tests; page transitions on it wait for readyState
+     */
+    public void exclude(WebDriver driver) {
+        sessions.put(unwrap(driver), Optional.empty());
+    }
+
+    /**
+     * Stop tracking a session, e.g. because it switched to another tab
+     * The next track() subscribes to the tab current at that point,
+     * over the same DevTools connection
+     */
+    public void forget(WebDriver driver) {
+        driver = unwrap(driver);
+        sessions.remove(driver);
+        DevTools devTools = connections.get(driver);
+        if (devTools != null) {
+            try {
+                devTools.clearListeners();
+                devTools.disconnectSession();
+            } catch (Exception e) {
+                log.debug("Could not detach DevTools from the previous tab: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stop tracking a session that is being quit and close its DevTools connection
+     */
+    public void close(WebDriver driver) {
+        driver = unwrap(driver);
+        sessions.remove(driver);
+        DevTools devTools = connections.remove(driver);
+        if (devTools != null) {
+            try {
+                devTools.close();
+            } catch (Exception e) {
+                log.debug("Could not close DevTools connection: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Wait until the session's network was quiet for wait.network.idle.ms
+     *
+     * @param waits engine that times the wait
+     * @return true if idleness was observed, false if the session has no CDP
+     * @throws TimeoutException if the network does not settle within the engine's timeout
+     */
+    public boolean awaitIdle(WebDriver driver, WaitEngine waits) {
+        Optional<NetworkActivity> activity = enabled ? sessions.get(unwrap(driver)) : null;
+        if (activity == null || activity.isEmpty()) {
+            return false;
+        }
+        waits.until(activity.get(), a -> a.isIdle(quietMillis, System.nanoTime()), "network.idle");
+        return true;
+    }
+
+    private Optional<NetworkActivity> subscribe(WebDriver driver) {
+        try {
+            DevTools devTools = devTools(driver);
+            devTools.createSessionIfThereIsNotOne(driver.getWindowHandle());
+
+            NetworkActivity activity = new NetworkActivity(longRequestMillis, System.nanoTime());
+            devTools.addListener(requestEvent("Network.requestWillBeSent"),
+                id -> activity.requestStarted(id, System.nanoTime()));
+            devTools.addListener(requestEvent("Network.loadingFinished"),
+                id -> activity.requestFinished(id, System.nanoTime()));
+            devTools.addListener(requestEvent("Network.loadingFailed"),
+                id -> activity.requestFinished(id, System.nanoTime()));
+            devTools.send(new Command<>("Network.enable", Map.of()));
+
+            log.debug("Tracking network activity of {}", driver.getClass().getSimpleName());
+            return Optional.of(activity);
+        } catch (Exception e) {
+            log.debug("Network idle tracking unavailable, page transitions wait for readyState: {}",
+                e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * The session behind an instrumented driver, so each session is tracked once
+     */
+    private static WebDriver unwrap(WebDriver driver) {
+        while (driver instanceof WrapsDriver) {
+            driver = ((WrapsDriver) driver).getWrappedDriver();
+        }
+        return driver;
+    }
+
+    private DevTools devTools(WebDriver driver) {
+        return connections.computeIfAbsent(driver, d -> {
+            WebDriver withDevTools = d instanceof RemoteWebDriver && !(d instanceof HasDevTools)
+                ? new Augmenter().augment(d) : d;
+            if (!(withDevTools instanceof HasDevTools)) {
+                throw new UnsupportedOperationException("No DevTools for " + d.getClass().getSimpleName());
+            }
+            return ((HasDevTools) withDevTools).getDevTools();
+        });
+    }
+
+    /**
+     * Raw CDP event carrying a requestId; version independent, unlike the generated vNN domains
+     */
+    private static Event<String> requestEvent(String method) {
+        return new Event<>(method, NetworkIdleMonitor::readRequestId);
+    }
+
+    private static String readRequestId(JsonInput input) {
+        String requestId = null;
+        input.beginObject();
+        while (input.hasNext()) {
+            if ("requestId".equals(input.nextName())) {
+                requestId = input.nextString();
+            } else {
+                input.skipValue();
+            }
+        }
+        input.endObject();
+        return requestId;
+    }
+}
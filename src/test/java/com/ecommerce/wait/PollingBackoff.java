@@ -0,0 +1,40 @@
+package com.ecommerce.wait;
+
+/**
+ * Poll intervals that start short and grow geometrically to a ceiling
+ *
+ * Most conditions hold within the first few hundred milliseconds, so
+ * early polls are cheap and frequent; conditions that take longer are
+ * polled less often to keep command traffic to the grid down.
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public final class PollingBackoff {
+
+    private final long initialMillis;
+    private final double multiplier;
+    private final long maxMillis;
+
+    public PollingBackoff(long initialMillis, double multiplier, long maxMillis) {
+        this.initialMillis = Math.max(1, initialMillis);
+        this.multiplier = Math.max(1.0, multiplier);
+        this.maxMillis = Math.max(this.initialMillis, maxMillis);
+    }
+
+    /**
+     * Delay before the next poll
+     *
+     * @param attempt number of polls already made, starting at 0
+     * @return delay in milliseconds, between initial and max
+     */
+    public long delayFor(int attempt) {
+        double delay = initialMillis * Math.pow(multiplier, Math.max(0, attempt));
+        return (long) Math.min(delay, maxMillis);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d ms x%.1f up to %d ms", initialMillis, multiplier, maxMillis);
+    }
+}
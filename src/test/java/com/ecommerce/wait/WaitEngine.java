@@ -0,0 +1,346 @@
+package com.ecommerce.wait;
+
+import com.ecommerce.config.ConfigManager;
+import com.ecommerce.metrics.LatencyHistogram;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Wait Engine - Explicit waits with adaptive polling
+ *
+ * Sessions run without implicit waits (implicit.wait=0), so every
+ * element lookup answers immediately and all waiting happens here:
+ * - until(): polls a condition with a PollingBackoff until it holds
+ *   or the timeout passes
+ * - awaitPresent() / awaitAbsent(): return on the first poll when the
+ *   element already is (or already is not) there
+ * - check(): a single probe with no waiting, for negative checks that
+ *   must answer in milliseconds
+ *
+ * In event mode (wait.mode=event) waits with a DomCondition install a
+ * MutationObserver and readyState listener in the page through
+ * executeAsyncScript, which resolves as soon as the condition holds:
+ * one command per wait instead of one per poll. If the script cannot
+ * run (element not located yet, navigation, no JavaScript) the wait
+ * falls back to polling for the remaining time.
+ *
+ * Every call is timed into a histogram per wait name; timeouts are
+ * counted separately.
+ *
+ * Thread-safe singleton pattern.
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class WaitEngine {
+
+    private static final Logger log = LogManager.getLogger(WaitEngine.class);
+
+    private static volatile WaitEngine instance;
+
+    // Stay well inside the driver's default 30s script timeout; longer waits re-arm the observer
+    private static final long EVENT_CHUNK_MILLIS = 10000;
+
+    // arguments: kind, element, timeout ms, callback. Calls back true once the condition
+    // holds, false on timeout; re-checks on DOM mutations, readyState changes and transitions
+    private static final String EVENT_SCRIPT =
+        "var kind = arguments[0], element = arguments[1], timeout = arguments[2]," +
+        "    done = arguments[arguments.length - 1], finished = false, observer, timer;" +
+        "function visible() {" +
+        "  if (!element.isConnected || element.getClientRects().length === 0) { return false; }" +
+        "  var style = getComputedStyle(element);" +
+        "  return style.visibility !== 'hidden' && style.opacity !== '0';" +
+        "}" +
+        "function holds() {" +
+        "  if (kind === 'ready') { return document.readyState === 'complete'; }" +
+        "  return visible() && (kind !== 'clickable' || !element.disabled);" +
+        "}" +
+        "function finish(result) {" +
+        "  if (finished) { return; }" +
+        "  finished = true;" +
+        "  if (observer) { observer.disconnect(); }" +
+        "  clearTimeout(timer);" +
+        "  ['readystatechange', 'transitionend', 'animationend'].forEach(function (type) {" +
+        "    document.removeEventListener(type, check, true);" +
+        "  });" +
+        "  done(result);" +
+        "}" +
+        "function check() { if (holds()) { finish(true); } }" +
+        "if (holds()) { done(true); return; }" +
+        "observer = new MutationObserver(check);" +
+        "observer.observe(document.documentElement," +
+        "  {subtree: true, childList: true, attributes: true, characterData: true});" +
+        "['readystatechange', 'transitionend', 'animationend'].forEach(function (type) {" +
+        "  document.addEventListener(type, check, true);" +
+        "});" +
+        "timer = setTimeout(function () { finish(holds()); }, timeout);";
+
+    private final PollingBackoff backoff;
+    private final Duration defaultTimeout;
+    private final boolean eventDriven;
+    private final Map<String, LatencyHistogram> timings = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> timeouts = new ConcurrentHashMap<>();
+    private final AtomicLong eventWaits = new AtomicLong();
+    private final AtomicLong eventFallbacks = new AtomicLong();
+
+    WaitEngine(PollingBackoff backoff, Duration defaultTimeout, boolean eventDriven) {
+        this.backoff = backoff;
+        this.defaultTimeout = defaultTimeout;
+        this.eventDriven = eventDriven;
+    }
+
+    /**
+     * Get the singleton instance of WaitEngine
+     *
+     * @return the WaitEngine instance
+     */
+    public static WaitEngine getInstance() {
+        if (instance == null) {
+            synchronized (WaitEngine.class) {
+                if (instance == null) {
+                    ConfigManager config = ConfigManager.getInstance();
+                    instance = new WaitEngine(
+                        new PollingBackoff(
+                            config.getLong("wait.poll.initial.ms", 25),
+                            Double.parseDouble(config.getProperty("wait.poll.multiplier", "1.5")),
+                            config.getLong("wait.poll.max.ms", 500)),
+                        Duration.ofSeconds(config.getInt("explicit.wait", 20)),
+                        "event".equalsIgnoreCase(config.getProperty("wait.mode", "event")));
+                    log.info("Wait engine configured (timeout: {}, polling: {}, event-driven: {})",
+                        instance.defaultTimeout, instance.backoff, instance.eventDriven);
+                }
+            }
+        }
+        return instance;
+    }
+
+    public Duration getDefaultTimeout() {
+        return defaultTimeout;
+    }
+
+    /**
+     * Wait with the default timeout (explicit.wait)
+     */
+    public <C, T> T until(C context, Function<? super C, T> condition, String name) {
+        return until(context, condition, defaultTimeout, name);
+    }
+
+    /**
+     * Poll a condition until it returns a value other than null or false
+     *
+     * @param context driver or element the condition is evaluated against
+     * @param condition the condition; NoSuchElement and StaleElementReference count as "not yet"
+     * @param timeout how long to keep polling
+     * @param name wait name the timing is recorded under
+     * @return the condition's value
+     * @throws TimeoutException if the condition does not hold within the timeout
+     */
+    public <C, T> T until(C context, Function<? super C, T> condition, Duration timeout, String name) {
+        long start = System.nanoTime();
+        return poll(context, condition, start, start + timeout.toNanos(), name);
+    }
+
+    private <C, T> T poll(C context, Function<? super C, T> condition, long start, long deadline, String name) {
+        RuntimeException lastError = null;
+        int attempt = 0;
+
+        while (true) {
+            try {
+                T value = condition.apply(context);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    record(name, start);
+                    return value;
+                }
+            } catch (NoSuchElementException | StaleElementReferenceException e) {
+                lastError = e;
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            sleep(Math.min(backoff.delayFor(attempt++), TimeUnit.NANOSECONDS.toMillis(remaining) + 1));
+        }
+
+        long waited = record(name, start);
+        timeouts.computeIfAbsent(name, key -> new AtomicLong()).incrementAndGet();
+        throw new TimeoutException(String.format("Waited %d ms (%d polls) for %s: %s",
+            waited, attempt + 1, name, condition), lastError);
+    }
+
+    /**
+     * Wait with the default timeout, event-driven when enabled
+     */
+    public <T> T until(WebDriver driver, DomCondition event, Function<? super WebDriver, T> condition,
+                       String name) {
+        return until(driver, event, condition, defaultTimeout, name);
+    }
+
+    /**
+     * Wait for a condition the page can watch for itself
+     *
+     * In event mode the browser signals when the DomCondition holds; the
+     * WebDriver condition is then evaluated once for its value. Otherwise,
+     * or if the page script cannot run, the WebDriver condition is polled.
+     *
+     * @param event in-page equivalent of the condition
+     * @param condition the WebDriver condition, used for the value and as fallback
+     * @throws TimeoutException if the condition does not hold within the timeout
+     */
+    public <T> T until(WebDriver driver, DomCondition event, Function<? super WebDriver, T> condition,
+                       Duration timeout, String name) {
+        if (!eventDriven || !(driver instanceof JavascriptExecutor)) {
+            return until(driver, condition, timeout, name);
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        try {
+            while (true) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                Object held = ((JavascriptExecutor) driver).executeAsyncScript(EVENT_SCRIPT,
+                    event.getKind(), event.getElement(), Math.max(0, Math.min(remaining, EVENT_CHUNK_MILLIS)));
+                if (Boolean.TRUE.equals(held)) {
+                    T value = condition.apply(driver);
+                    if (value != null && !Boolean.FALSE.equals(value)) {
+                        eventWaits.incrementAndGet();
+                        record(name, start);
+                        return value;
+                    }
+                    // The page and WebDriver disagree on the condition; let polling decide
+                    eventFallbacks.incrementAndGet();
+                    return poll(driver, condition, start, deadline, name);
+                }
+                if (System.nanoTime() >= deadline) {
+                    long waited = record(name, start);
+                    timeouts.computeIfAbsent(name, key -> new AtomicLong()).incrementAndGet();
+                    throw new TimeoutException(String.format("Waited %d ms for %s: %s", waited, name, event));
+                }
+            }
+        } catch (TimeoutException e) {
+            throw e;
+        } catch (WebDriverException e) {
+            // Element not located yet, stale, page navigated away mid-script, ...
+            eventFallbacks.incrementAndGet();
+            log.debug("Event wait for {} fell back to polling: {}", name, e.getClass().getSimpleName());
+            return poll(driver, condition, start, deadline, name);
+        }
+    }
+
+    /**
+     * Wait for an element to be present, returning at once if it already is
+     */
+    public WebElement awaitPresent(SearchContext context, By locator, Duration timeout) {
+        return until(context, search -> first(search.findElements(locator)), timeout, "present");
+    }
+
+    /**
+     * Wait for no element to match the locator, returning at once if none does
+     *
+     * @return true if the element is absent, false if it was still present at the timeout
+     */
+    public boolean awaitAbsent(SearchContext context, By locator, Duration timeout) {
+        try {
+            return until(context, search -> search.findElements(locator).isEmpty(), timeout, "absent");
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Check once whether an element matches the locator, without waiting
+     */
+    public boolean isPresent(SearchContext context, By locator) {
+        return check("present.check", () -> !context.findElements(locator).isEmpty());
+    }
+
+    /**
+     * Check once whether an element matches the locator and is displayed, without waiting
+     */
+    public boolean isDisplayed(SearchContext context, By locator) {
+        return check("displayed.check", () -> {
+            WebElement element = first(context.findElements(locator));
+            return element != null && element.isDisplayed();
+        });
+    }
+
+    /**
+     * Run a single timed probe; a missing or stale element means false
+     */
+    public boolean check(String name, BooleanSupplier probe) {
+        long start = System.nanoTime();
+        try {
+            return probe.getAsBoolean();
+        } catch (NoSuchElementException | StaleElementReferenceException e) {
+            return false;
+        } finally {
+            record(name, start);
+        }
+    }
+
+    /**
+     * Timing per wait name, for the suite report
+     */
+    public String getMetricsSummary() {
+        StringBuilder summary = new StringBuilder("Wait timing (ms)");
+        if (eventDriven) {
+            summary.append(String.format(" - event-driven: %d, fell back to polling: %d",
+                eventWaits.get(), eventFallbacks.get()));
+        }
+        new TreeMap<>(timings).forEach((name, histogram) -> summary.append(System.lineSeparator())
+            .append("  ").append(histogram.summary())
+            .append(" timeouts=").append(timeouts.getOrDefault(name, new AtomicLong()).get()));
+        return summary.toString();
+    }
+
+    LatencyHistogram getTimings(String name) {
+        return timings.get(name);
+    }
+
+    long getEventFallbacks() {
+        return eventFallbacks.get();
+    }
+
+    long getTimeoutCount(String name) {
+        AtomicLong count = timeouts.get(name);
+        return count != null ? count.get() : 0;
+    }
+
+    private long record(String name, long startNanos) {
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        timings.computeIfAbsent(name, LatencyHistogram::new).record(elapsed);
+        return elapsed;
+    }
+
+    private static WebElement first(List<WebElement> elements) {
+        return elements.isEmpty() ? null : elements.get(0);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted while waiting", e);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.ecommerce.wait;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for WaitEngine and PollingBackoff
+ * Conditions and search contexts are stubs, so no browser is needed
+ *
+ * @author QA Team
+ * @version 2.0
+ */
+public class WaitEngineTest {
+
+    private final WaitEngine engine = new WaitEngine(new PollingBackoff(5, 2.0, 40), Duration.ofSeconds(2), false);
+
+    @Test(description = "Test poll delays grow from the initial delay up to the ceiling")
+    public void testBackoffGrowsToCeiling() {
+        PollingBackoff backoff = new PollingBackoff(25, 2.0, 500);
+
+        assertEquals(backoff.delayFor(0), 25);
+        assertEquals(backoff.delayFor(1), 50);
+        assertEquals(backoff.delayFor(3), 200);
+        assertEquals(backoff.delayFor(10), 500);
+    }
+
+    @Test(description = "Test until() polls past missing elements and returns the value")
+    public void testUntilPollsUntilConditionHolds() {
+        AtomicInteger polls = new AtomicInteger();
+
+        String value = engine.until(polls, count -> {
+            if (count.incrementAndGet() < 3) {
+                throw new NoSuchElementException("not yet");
+            }
+            return "ready";
+        }, "test.until");
+
+        assertEquals(value, "ready");
+        assertEquals(polls.get(), 3);
+        assertEquals(engine.getTimings("test.until").getCount(), 1);
+    }
+
+    @Test(description = "Test a condition that never holds times out and is counted")
+    public void testUntilTimesOut() {
+        long start = System.nanoTime();
+
+        assertThrows(TimeoutException.class,
+            () -> engine.until(this, test -> false, Duration.ofMillis(100), "test.timeout"));
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(elapsedMillis >= 100 && elapsedMillis < 1000, "Took " + elapsedMillis + " ms");
+        assertEquals(engine.getTimeoutCount("test.timeout"), 1);
+    }
+
+    @Test(description = "Test absent and present checks answer on the first poll")
+    public void testFastPaths() {
+        SearchContext empty = stubContext(Collections.emptyList());
+        long start = System.nanoTime();
+
+        assertTrue(engine.awaitAbsent(empty, By.id("badge"), Duration.ofSeconds(10)));
+        assertFalse(engine.isPresent(empty, By.id("badge")));
+        assertFalse(engine.isDisplayed(empty, By.id("badge")));
+
+        assertTrue((System.nanoTime() - start) / 1_000_000 < 1000, "Negative checks should not wait");
+    }
+
+    @Test(description = "Test awaitPresent returns the element once it appears")
+    public void testAwaitPresent() {
+        List<WebElement> found = new ArrayList<>();
+        WebElement element = stubElement();
+        AtomicInteger calls = new AtomicInteger();
+        SearchContext context = new SearchContext() {
+            @Override
+            public List<WebElement> findElements(By by) {
+                if (calls.incrementAndGet() == 2) {
+                    found.add(element);
+                }
+                return found;
+            }
+
+            @Override
+            public WebElement findElement(By by) {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        assertSame(engine.awaitPresent(context, By.id("item"), Duration.ofSeconds(2)), element);
+    }
+
+    @Test(description = "Test an event-driven wait costs one script and one confirming check")
+    public void testEventDrivenWait() {
+        WaitEngine eventEngine = new WaitEngine(new PollingBackoff(5, 2.0, 40), Duration.ofSeconds(2), true);
+        AtomicInteger scripts = new AtomicInteger();
+        AtomicInteger checks = new AtomicInteger();
+        WebDriver driver = stubScriptDriver(args -> {
+            scripts.incrementAndGet();
+            return Boolean.TRUE;
+        });
+
+        String value = eventEngine.until(driver, DomCondition.documentReady(), d -> {
+            checks.incrementAndGet();
+            return "loaded";
+        }, "test.event");
+
+        assertEquals(value, "loaded");
+        assertEquals(scripts.get(), 1);
+        assertEquals(checks.get(), 1);
+        assertEquals(eventEngine.getEventFallbacks(), 0);
+    }
+
+    @Test(description = "Test a failing page script falls back to polling")
+    public void testEventWaitFallsBackToPolling() {
+        WaitEngine eventEngine = new WaitEngine(new PollingBackoff(5, 2.0, 40), Duration.ofSeconds(2), true);
+        AtomicInteger polls = new AtomicInteger();
+        WebDriver driver = stubScriptDriver(args -> {
+            throw new JavascriptException("document unloaded while waiting for result");
+        });
+
+        Boolean ready = eventEngine.until(driver, DomCondition.documentReady(),
+            d -> polls.incrementAndGet() >= 3, "test.fallback");
+
+        assertTrue(ready);
+        assertEquals(polls.get(), 3);
+        assertEquals(eventEngine.getEventFallbacks(), 1);
+    }
+
+    private static WebDriver stubScriptDriver(Function<Object[], Object> asyncScript) {
+        return (WebDriver) Proxy.newProxyInstance(WaitEngineTest.class.getClassLoader(),
+            new Class<?>[]{WebDriver.class, JavascriptExecutor.class}, (proxy, method, args) -> {
+                if (!method.getName().equals("executeAsyncScript")) {
+                    throw new AssertionError("Unexpected WebDriver call: " + method.getName());
+                }
+                return asyncScript.apply(args);
+            });
+    }
+
+    private static SearchContext stubContext(List<WebElement> elements) {
+        return new SearchContext() {
+            @Override
+            public List<WebElement> findElements(By by) {
+                return elements;
+            }
+
+            @Override
+            public WebElement findElement(By by) {
+                throw new NoSuchElementException(by.toString());
+            }
+        };
+    }
+
+    private static WebElement stubElement() {
+        return (WebElement) Proxy.newProxyInstance(WaitEngineTest.class.getClassLoader(),
+            new Class<?>[]{WebElement.class}, (proxy, method, args) -> {
+                throw new AssertionError("Unexpected WebElement call: " + method.getName());
+            });
+    }
+}